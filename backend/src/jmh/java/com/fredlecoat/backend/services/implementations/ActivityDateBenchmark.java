@@ -0,0 +1,42 @@
+package com.fredlecoat.backend.services.implementations;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing of the journal dates, e.g. "17/10/2026 à 14:05".
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ActivityDateBenchmark {
+
+    private DashboardActivityServiceImpl service;
+    private String date;
+
+    @Setup
+    public void setUp() {
+        // parseActivityDate needs none of the injected dependencies
+        service = new DashboardActivityServiceImpl();
+        date = "17/10/2026 à 14:05";
+    }
+
+    @Benchmark
+    public LocalDateTime parseActivityDate() {
+        return service.parseActivityDate(date);
+    }
+}
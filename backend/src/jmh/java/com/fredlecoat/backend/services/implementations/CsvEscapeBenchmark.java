@@ -0,0 +1,39 @@
+package com.fredlecoat.backend.services.implementations;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * CsvExportServiceImpl.escapeCsv over plain values and values needing quotes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CsvEscapeBenchmark {
+
+    @Param({
+        "Aventura Parc",
+        "Wonderland; le parc des merveilles",
+        "Le \"Grand\" Huit",
+        "https://themeparkindustries.com/tpiv4/game/img/attractions/boomerang.png"
+    })
+    public String value;
+
+    @Benchmark
+    public String escapeCsv() {
+        return CsvExportServiceImpl.escapeCsv(value);
+    }
+}
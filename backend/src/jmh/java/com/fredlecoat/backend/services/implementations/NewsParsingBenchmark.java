@@ -0,0 +1,98 @@
+package com.fredlecoat.backend.services.implementations;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.fredlecoat.backend.entities.dtos.ParsedNews;
+import com.fredlecoat.backend.parsers.impl.BuyLandParser;
+import com.fredlecoat.backend.parsers.impl.BuyParkParser;
+import com.fredlecoat.backend.parsers.impl.BuyRideFromPlayer;
+import com.fredlecoat.backend.parsers.impl.BuyRideParser;
+import com.fredlecoat.backend.parsers.impl.DestructRideParser;
+import com.fredlecoat.backend.parsers.impl.SellRideParser;
+
+/**
+ * NewsParsingService.parse over journal lines of every activity type, and lines no parser handles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NewsParsingBenchmark {
+
+    // One journal line per DashboardActivityType, as the dashboard shows them
+    private static final Map<String, String> LINES = Map.of(
+        "BUYING_LAND", "Fred Lecoat viens d'acheter 2 300m² de terrain à Aventura Parc pour un agrandissement.",
+        "BUYING_PARK", "Marie Dupont vient d'acquérir des terrains pour implanter Wonderland à Saint-Étienne.",
+        "BUYING_RIDE_FROM_OTHER", "Aventura Parc vient d'acheter un Boomerang à Wonderland.",
+        "BUYING_RIDE", "Aventura Parc à Lyon viens d'annoncer l'arrivée d'un Wild Mouse de Mack Rides.",
+        "DESTRUCT_RIDE", "Wonderland à Saint-Étienne vient d'annoncer la destruction de Carrousel Belle Époque.",
+        "SELLING_RIDE", "Wonderland à Saint-Étienne vient de mettre en vente Boomerang pour 1 250 000 €.",
+        "NONE", "Le classement hebdomadaire des parcs de la région Auvergne-Rhône-Alpes est disponible."
+    );
+
+    @Param({"BUYING_LAND", "BUYING_PARK", "BUYING_RIDE_FROM_OTHER", "BUYING_RIDE", "DESTRUCT_RIDE", "SELLING_RIDE", "NONE"})
+    public String type;
+
+    private NewsParsingService service;
+    private String line;
+    private String[] corpus;
+    private PrintStream stdout;
+
+    @Setup
+    public void setUp() {
+        // Same parsers, in the same order, as NewsParserConfig
+        service = new NewsParsingService(List.of(
+            new BuyLandParser(),
+            new BuyRideParser(),
+            new BuyParkParser(),
+            new BuyRideFromPlayer(),
+            new SellRideParser(),
+            new DestructRideParser()
+        ));
+        line = LINES.get(type);
+        corpus = LINES.values().toArray(String[]::new);
+
+        // Unmatched lines are logged; keep the log out of the benchmark output
+        stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(stdout);
+    }
+
+    @Benchmark
+    public ParsedNews parseLine() {
+        return service.parse(line);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(7)
+    public void parseCorpus(Blackhole blackhole) {
+        for (String text : corpus) {
+            blackhole.consume(service.parse(text));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.fredlecoat.backend.utils;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * ScrapingParser value parsing over values formatted as the game pages show them,
+ * with non-breaking and narrow non-breaking spaces as thousands separators.
+ * The legacy* benchmarks run the former replace-and-parseInt implementation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScrapingParserBenchmark {
+
+    @Param({"SMALL", "LARGE", "INVALID"})
+    public String size;
+
+    private String money;
+    private String integer;
+    private String surface;
+    private PrintStream stderr;
+
+    @Setup
+    public void setUp() {
+        if ("SMALL".equals(size)) {
+            money = "12\u00A0500\u00A0€";
+            integer = "956";
+            surface = "850\u00A0m²";
+        } else if ("LARGE".equals(size)) {
+            money = "6\u202F487\u202F883\u00A0€";
+            integer = "2\u202F956\u202F120";
+            surface = "30\u00A0000\u00A0m²";
+        } else {
+            money = "N/A";
+            integer = "—";
+            surface = "? m²";
+        }
+
+        // The legacy parseInteger prints a stack trace on each failure; keep it out of the output
+        stderr = System.err;
+        System.setErr(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setErr(stderr);
+    }
+
+    @Benchmark
+    public long parseLong() {
+        return ScrapingParser.parseLong(money);
+    }
+
+    @Benchmark
+    public Object parseMoney() {
+        return ScrapingParser.parseMoney(money);
+    }
+
+    @Benchmark
+    public Object parseInteger() {
+        return ScrapingParser.parseInteger(integer);
+    }
+
+    @Benchmark
+    public Object parseSurface() {
+        return ScrapingParser.parseSurface(surface);
+    }
+
+    @Benchmark
+    public Object legacyParseMoney() {
+        return LegacyScrapingParser.parseMoney(money);
+    }
+
+    @Benchmark
+    public Object legacyParseInteger() {
+        return LegacyScrapingParser.parseInteger(integer);
+    }
+
+    @Benchmark
+    public Object legacyParseSurface() {
+        return LegacyScrapingParser.parseSurface(surface);
+    }
+}
@@ -0,0 +1,49 @@
+package com.fredlecoat.backend.configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resource blocking rules of the scraping browser profile.
+ *
+ * Patterns use the DevTools Network.setBlockedURLs syntax ('*' wildcards).
+ * Page types are the ones of ScrapingConfig.PageTypes.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "scraping.browser")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BrowserProfileConfig {
+
+    // Block images, fonts, media and third-party scripts on every page
+    private boolean lean = true;
+
+    private List<String> blockedExtensions = new ArrayList<>(List.of(
+        "png", "jpg", "jpeg", "gif", "webp", "svg", "ico",
+        "woff", "woff2", "ttf", "otf", "eot",
+        "mp3", "mp4", "webm", "ogg", "wav"
+    ));
+
+    private List<String> blockedUrlPatterns = new ArrayList<>(List.of(
+        "*google-analytics.com*",
+        "*googletagmanager.com*",
+        "*doubleclick.net*",
+        "*facebook.net*",
+        "*hotjar.com*",
+        "*clarity.ms*"
+    ));
+
+    // Page types whose stylesheets are also blocked (only pages that never rely on visibility checks)
+    private List<String> cssBlockedOn = new ArrayList<>(List.of(ScrapingConfig.PageTypes.PARK));
+
+    // Page types rendered server-side, on which page JavaScript is disabled
+    private List<String> javascriptDisabledOn = new ArrayList<>();
+}
@@ -0,0 +1,30 @@
+package com.fredlecoat.backend.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Thresholds after which a browser is quit and relaunched.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "scraping.supervisor")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BrowserSupervisorConfig {
+
+    private boolean enabled = true;
+
+    // Page loads served by one browser before it is recycled
+    private int maxPagesPerBrowser = 2000;
+
+    // Resident memory of the browser process tree (chromedriver and Chrome) before it is recycled
+    private int maxRssMb = 1500;
+
+    // Memory is read from /proc every this many pages
+    private int rssCheckEveryPages = 25;
+}
@@ -0,0 +1,25 @@
+package com.fredlecoat.backend.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Settings of the browserless (jsoup) fetch engine.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "scraping.http")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class HttpScrapingConfig {
+
+    // Number of park pages fetched concurrently, one virtual thread each
+    private int concurrency = 8;
+
+    // Connect + read timeout of a single page fetch
+    private int timeoutMs = 10000;
+}
@@ -0,0 +1,39 @@
+package com.fredlecoat.backend.configuration;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Settings of the opt-in capture of the game's own JSON responses.
+ *
+ * URL patterns are plain substrings, keyed by the page types of
+ * ScrapingConfig.PageTypes. A page type without patterns keeps every
+ * JSON response loaded while it was displayed.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "scraping.capture")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class NetworkCaptureConfig {
+
+    private boolean enabled = false;
+
+    // Larger response bodies are not kept
+    private int maxBodyLength = 2_000_000;
+
+    private Map<String, List<String>> urlPatterns = new HashMap<>(Map.of(
+        ScrapingConfig.PageTypes.WORLD_MAP, new ArrayList<>(),
+        ScrapingConfig.PageTypes.ATTRACTIONS_STORE, new ArrayList<>(),
+        ScrapingConfig.PageTypes.DASHBOARD, new ArrayList<>()
+    ));
+}
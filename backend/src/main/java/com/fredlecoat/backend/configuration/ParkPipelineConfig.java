@@ -0,0 +1,39 @@
+package com.fredlecoat.backend.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Sizing of the park crawl pipeline: fetch, extraction and persistence stages
+ * connected by bounded queues. Fetch concurrency is the pool size, or
+ * scraping.http.concurrency for the HTTP engine.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "scraping.pipeline")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ParkPipelineConfig {
+
+    // When disabled, each page is extracted and saved by the thread that fetched it
+    private boolean enabled = true;
+
+    // Threads parsing fetched pages (HTTP engine; browsers extract in the page)
+    private int extractConcurrency = 2;
+
+    // Threads saving extracted parks
+    private int persistConcurrency = 2;
+
+    // Items waiting between two stages before the upstream stage blocks
+    private int queueCapacity = 64;
+
+    // Saves parks by batches in one transaction each, with JDBC batched statements
+    private boolean bulkPersist = false;
+
+    // Most parks saved per batch in bulk mode; matches hibernate.jdbc.batch_size
+    private int persistBatchSize = 50;
+}
@@ -0,0 +1,42 @@
+package com.fredlecoat.backend.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Settings of the adaptive rate limiter shared by every request to the game server.
+ * Rates are in requests per second.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "scraping.rate")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RateLimiterConfig {
+
+    // Starting rate: one request every 200 ms, the former fixed delay between parks
+    private double initialRate = 5.0;
+
+    private double minRate = 0.5;
+
+    private double maxRate = 20.0;
+
+    // Requests allowed back to back after an idle period
+    private int burst = 2;
+
+    // Rate gained per second of healthy responses (additive increase)
+    private double increasePerSecond = 0.5;
+
+    // Factor applied to the rate on an error or a slow response (multiplicative decrease)
+    private double decreaseFactor = 0.5;
+
+    // Responses slower than this count as a congestion signal
+    private int slowResponseMs = 3000;
+
+    // At most one decrease per this period, so that a burst of failures in flight cuts the rate once
+    private int decreaseCooldownMs = 2000;
+}
@@ -0,0 +1,34 @@
+package com.fredlecoat.backend.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import com.fredlecoat.backend.values.ScrapingEngine;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Settings of the hourly re-scrape of the parks most likely to have changed.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "scraping.recrawl")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RecrawlConfig {
+
+    private boolean enabled = false;
+
+    // Park pages fetched per hourly run
+    private int pagesPerHour = 200;
+
+    // Parks whose change probability is below this are left to the nightly crawl
+    private double minChangeProbability = 0.05;
+
+    // Change rate assumed for parks seen fewer than twice (changes per day)
+    private double defaultChangesPerDay = 1.0;
+
+    private ScrapingEngine engine = ScrapingEngine.BROWSER;
+}
@@ -10,26 +10,59 @@ import org.springframework.context.annotation.Configuration;
 public class ScrapingConfig {
 
     // Page paths (relative to base URL)
+    public static final String LOGIN_PAGE = "play.php";
     public static final String WORLD_MAP_PAGE = "game/carte_du_monde.php";
     public static final String PARK_PAGE_TEMPLATE = "game/park/fake/monpark.php?id=";
     public static final String ATTRACTIONS_PAGE = "game/park/attractions.php";
 
-    // Delays for page loading (in milliseconds)
+    // User agent shared by the browser and the HTTP engine
+    public static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36";
+
+    // Legacy fixed delays for page loading (in milliseconds).
+    // Pages now wait on readiness conditions; these remain the baseline the
+    // readiness histograms report savings against.
     public static final int PAGE_LOAD_DELAY_MS = 500;
     public static final int COUNTRY_LOAD_DELAY_MS = 500;
     public static final int CITY_LOAD_DELAY_MS = 700;
     public static final int MODAL_LOAD_DELAY_MS = 300;
 
-    // Delays between requests to avoid overwhelming the server
-    public static final int DELAY_BETWEEN_PARKS_MS = 200;
-    public static final int DELAY_BETWEEN_RIDES_MS = 200;
+    // Readiness waits: poll interval and per page type timeouts (in milliseconds)
+    public static final int READY_POLL_INTERVAL_MS = 25;
+    public static final int PAGE_READY_TIMEOUT_MS = 10000;
+    public static final int SELECT_READY_TIMEOUT_MS = 5000;
+
+    // Whole world map read in one asynchronous in-page script (in milliseconds)
+    public static final int WORLD_MAP_BULK_TIMEOUT_MS = 300000;
 
     // Scraping limits
     public static final int MAX_CONSECUTIVE_ERRORS = 500;
     public static final int MAX_PARK_AMOUNT = 5000;
 
+    // Parallel park crawls without an id index: upper bound of the id range; ids per work-stealing block
+    public static final int MAX_PARK_ID = 10000;
+    public static final int PARK_SHARD_BLOCK_SIZE = 25;
+
+    // Park id index: dead ids re-probed per crawl, and consecutive missing ids that end the id range,
+    // the same tolerance as a crawl without index
+    public static final int PARK_INDEX_REPROBE_BATCH = 200;
+    public static final int PARK_INDEX_PROBE_WINDOW = MAX_CONSECUTIVE_ERRORS;
+
+    // Crawl frontier checkpoints: after this many visited items, or this long, whichever comes first
+    public static final int FRONTIER_CHECKPOINT_EVERY = 50;
+    public static final int FRONTIER_CHECKPOINT_INTERVAL_MS = 30000;
+
+    // Dashboard activity content hashes remembered to skip known news without a query
+    public static final int DASHBOARD_RECENT_HASHES = 4096;
+    // Activities hashed per page by the startup backfill
+    public static final int DASHBOARD_BACKFILL_PAGE = 500;
+
     // CSS Selectors
     public static final class Selectors {
+        // Login page
+        public static final String LOGIN_EMAIL = "login-email";
+        public static final String LOGIN_PASSWORD = "login-password";
+        public static final String LOGIN_SUBMIT = "form.auth-form button.form-submit";
+
         // World map page
         public static final String COUNTRY_SELECT = "countrySelect";
         public static final String CITY_SELECT = "citySelect";
@@ -57,6 +90,29 @@ public class ScrapingConfig {
         private Selectors() {}
     }
 
+    // Page types, as used by readiness waits and their metrics
+    public static final class PageTypes {
+        public static final String PARK = "park";
+        public static final String COUNTRY = "country";
+        public static final String CITY = "city";
+        public static final String ATTRACTIONS_STORE = "attractions-store";
+        public static final String WORLD_MAP = "world-map";
+        public static final String ATTRACTIONS = "attractions";
+        public static final String DASHBOARD = "dashboard";
+
+        public static int baselineDelayMs(String pageType) {
+            return switch (pageType) {
+                case PARK -> PAGE_LOAD_DELAY_MS;
+                case COUNTRY -> COUNTRY_LOAD_DELAY_MS;
+                case CITY -> CITY_LOAD_DELAY_MS;
+                case ATTRACTIONS_STORE -> MODAL_LOAD_DELAY_MS;
+                default -> 0;
+            };
+        }
+
+        private PageTypes() {}
+    }
+
     // Stats card labels (French)
     public static final class StatsLabels {
         public static final String CAPITAL = "Trésorerie";
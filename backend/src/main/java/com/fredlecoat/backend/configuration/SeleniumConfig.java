@@ -1,5 +1,7 @@
 package com.fredlecoat.backend.configuration;
 
+import java.util.Map;
+
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -8,7 +10,7 @@ import org.springframework.context.annotation.Configuration;
 public class SeleniumConfig {
 
     @Bean
-    public ChromeOptions chromeOptions() {
+    public ChromeOptions chromeOptions(BrowserProfileConfig profileConfig) {
         ChromeOptions options = new ChromeOptions();
         options.addArguments("--headless=new");
         options.addArguments("--no-sandbox");
@@ -17,7 +19,21 @@ public class SeleniumConfig {
         options.addArguments("--disable-blink-features=AutomationControlled");
         options.addArguments("--disable-extensions");
         options.addArguments("--disable-plugins");
-        options.addArguments("--user-agent=Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36");
+        options.addArguments("--user-agent=" + ScrapingConfig.USER_AGENT);
+
+        if (profileConfig.isLean()) {
+            // Scraping only reads text and attributes: skip image decoding and background services
+            options.addArguments("--blink-settings=imagesEnabled=false");
+            options.addArguments("--disable-background-networking");
+            options.addArguments("--disable-component-update");
+            options.addArguments("--disable-default-apps");
+            options.addArguments("--disable-sync");
+            options.addArguments("--mute-audio");
+            options.addArguments("--no-first-run");
+            options.setExperimentalOption("prefs", Map.of(
+                "profile.managed_default_content_settings.images", 2
+            ));
+        }
         return options;
     }
 
@@ -0,0 +1,56 @@
+package com.fredlecoat.backend.configuration;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Moves the id sequences past the ids already in their tables.
+ *
+ * Tables created while ids were identity columns hold rows the sequences,
+ * created afterwards by the schema update, know nothing about. Hibernate's
+ * pooled optimizer hands out the ALLOCATION_SIZE ids ending at each value it
+ * reads, so the sequences are kept at least one allocation above the highest id.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class SequenceAlignment {
+
+    // Must match the allocationSize of the entities' @SequenceGenerator
+    public static final int ALLOCATION_SIZE = 50;
+
+    // Sequence name to table name
+    private static final Map<String, String> SEQUENCES = Map.of(
+        "park_seq", "park",
+        "ride_seq", "ride",
+        "city_seq", "city",
+        "player_seq", "player",
+        "park_change_stats_seq", "park_change_stats",
+        "dashboard_activity_seq", "dashboard_activity"
+    );
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void align() {
+        SEQUENCES.forEach((sequence, table) -> {
+            try {
+                Long value = jdbcTemplate.queryForObject(
+                    "SELECT setval('" + sequence + "', GREATEST("
+                        + "(SELECT last_value FROM " + sequence + "), "
+                        + "(SELECT COALESCE(MAX(id), 0) FROM " + table + ") + " + ALLOCATION_SIZE + "))",
+                    Long.class
+                );
+                System.out.println("SEQUENCE " + sequence + " ALIGNEE A " + value);
+            } catch (Exception e) {
+                System.err.println("ERREUR ALIGNEMENT SEQUENCE " + sequence + ": " + e.getMessage());
+            }
+        });
+    }
+}
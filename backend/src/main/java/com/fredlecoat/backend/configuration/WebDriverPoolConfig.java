@@ -0,0 +1,29 @@
+package com.fredlecoat.backend.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Sizing of the pool of logged-in browsers used by parallel crawls.
+ * A size of 1 keeps the historical behaviour: a single shared driver.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "scraping.pool")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class WebDriverPoolConfig {
+
+    // Number of independently logged-in browsers (slot 0 is the login service driver)
+    private int size = 1;
+
+    // Consecutive failed pages after which a driver is considered unhealthy and relaunched
+    private int maxConsecutiveFailures = 20;
+
+    // Maximum time a crawl worker waits for a free driver
+    private int leaseTimeoutSeconds = 60;
+}
@@ -3,20 +3,25 @@ package com.fredlecoat.backend.controllers;
 import java.io.IOException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
+import com.fredlecoat.backend.entities.dtos.ScrapeJobStatus;
 import com.fredlecoat.backend.services.CsvExportService;
-import com.fredlecoat.backend.services.TPIDataService;
+import com.fredlecoat.backend.services.ScrapeJobService;
+import com.fredlecoat.backend.values.ScrapeJobType;
+import com.fredlecoat.backend.values.ScrapingEngine;
 
 @Controller
 @RequestMapping("/api")
 public class CommandController {
 
     @Autowired
-    private TPIDataService tpiDataService;
+    private ScrapeJobService scrapeJobService;
 
     @Autowired
     private CsvExportService csvExportService;
@@ -25,32 +30,32 @@ public class CommandController {
     public ResponseEntity<String> getAllCommands() {
         String commands;
         commands = """
-                   parks : to fetch all parks\n
-                   rides : to fetch all rides\n
-                   cities : to fetch all cities\n
+                   parks : to fetch all parks (?engine=BROWSER|HTTP), returns the job\n
+                   rides : to fetch all rides, returns the job\n
+                   cities : to fetch all cities, returns the job\n
+                   jobs/{id} : job status, /events for a progress stream, DELETE to cancel\n
                    export : to export all data to csv\n
                    """;
         return ResponseEntity.ok(commands);
     }
 
     @GetMapping("/parks")
-    public ResponseEntity<Void> startFetchingParks() {
-        this.tpiDataService.getAllParksData();
-        return ResponseEntity.ok(null);
+    public ResponseEntity<ScrapeJobStatus> startFetchingParks(
+        @RequestParam(defaultValue = "BROWSER") ScrapingEngine engine
+    ) {
+        return submit(ScrapeJobType.PARKS, engine);
     }
 
 
     @GetMapping("/rides")
-    public ResponseEntity<Void> startFetchingRides() {
-        this.tpiDataService.getAllRidesData();
-        return ResponseEntity.ok(null);
+    public ResponseEntity<ScrapeJobStatus> startFetchingRides() {
+        return submit(ScrapeJobType.RIDES, ScrapingEngine.BROWSER);
     }
 
 
     @GetMapping("/cities")
-    public ResponseEntity<Void> startFetchingCities() {
-        this.tpiDataService.getAllCitiesData();
-        return ResponseEntity.ok(null);
+    public ResponseEntity<ScrapeJobStatus> startFetchingCities() {
+        return submit(ScrapeJobType.CITIES, ScrapingEngine.BROWSER);
     }
 
 
@@ -64,4 +69,11 @@ public class CommandController {
         return ResponseEntity.ok(null);
     }
 
+    private ResponseEntity<ScrapeJobStatus> submit(ScrapeJobType type, ScrapingEngine engine) {
+        ScrapeJobStatus status = this.scrapeJobService.submit(type, engine, 1);
+        if (status == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(status);
+    }
 }
@@ -0,0 +1,67 @@
+package com.fredlecoat.backend.controllers;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fredlecoat.backend.entities.dtos.ScrapeJobStatus;
+import com.fredlecoat.backend.services.ScrapeJobService;
+import com.fredlecoat.backend.values.ScrapeJobType;
+import com.fredlecoat.backend.values.ScrapingEngine;
+
+@Controller
+@RequestMapping("/api/jobs")
+public class JobController {
+
+    @Autowired
+    private ScrapeJobService scrapeJobService;
+
+    @PostMapping("/{type}")
+    public ResponseEntity<ScrapeJobStatus> submitJob(
+        @PathVariable ScrapeJobType type,
+        @RequestParam(defaultValue = "BROWSER") ScrapingEngine engine,
+        @RequestParam(defaultValue = "1") int startId
+    ) {
+        ScrapeJobStatus status = this.scrapeJobService.submit(type, engine, startId);
+        if (status == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(status);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ScrapeJobStatus>> getJobs() {
+        return ResponseEntity.ok(this.scrapeJobService.getJobs());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ScrapeJobStatus> getJob(@PathVariable String id) {
+        ScrapeJobStatus status = this.scrapeJobService.getStatus(id);
+        return status != null ? ResponseEntity.ok(status) : ResponseEntity.notFound().build();
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ScrapeJobStatus> cancelJob(@PathVariable String id) {
+        if (!this.scrapeJobService.cancel(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(this.scrapeJobService.getStatus(id));
+    }
+
+    @GetMapping(path = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamJob(@PathVariable String id) {
+        SseEmitter emitter = this.scrapeJobService.subscribe(id);
+        return emitter != null ? ResponseEntity.ok(emitter) : ResponseEntity.notFound().build();
+    }
+}
@@ -0,0 +1,75 @@
+package com.fredlecoat.backend.controllers;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import com.fredlecoat.backend.entities.dtos.BrowserSupervisorStats;
+import com.fredlecoat.backend.entities.dtos.DriverPoolStats;
+import com.fredlecoat.backend.entities.dtos.PageReadinessStats;
+import com.fredlecoat.backend.entities.dtos.PipelineStageStats;
+import com.fredlecoat.backend.entities.dtos.RateLimiterStats;
+import com.fredlecoat.backend.entities.dtos.RideCatalogStats;
+import com.fredlecoat.backend.services.RideService;
+import com.fredlecoat.backend.services.WebDriverPool;
+import com.fredlecoat.backend.services.scrapers.AdaptiveRateLimiter;
+import com.fredlecoat.backend.services.scrapers.BrowserSupervisor;
+import com.fredlecoat.backend.services.scrapers.PageReadinessMetrics;
+import com.fredlecoat.backend.services.scrapers.ParkScraper;
+
+@Controller
+@RequestMapping("/api/metrics")
+public class MetricsController {
+
+    @Autowired
+    private WebDriverPool webDriverPool;
+
+    @Autowired
+    private PageReadinessMetrics readinessMetrics;
+
+    @Autowired
+    private AdaptiveRateLimiter rateLimiter;
+
+    @Autowired
+    private BrowserSupervisor browserSupervisor;
+
+    @Autowired
+    private ParkScraper parkScraper;
+
+    @Autowired
+    private RideService rideService;
+
+    @GetMapping("/drivers")
+    public ResponseEntity<List<DriverPoolStats>> getDriverPoolStats() {
+        return ResponseEntity.ok(this.webDriverPool.getStats());
+    }
+
+    @GetMapping("/readiness")
+    public ResponseEntity<List<PageReadinessStats>> getPageReadinessStats() {
+        return ResponseEntity.ok(this.readinessMetrics.getStats());
+    }
+
+    @GetMapping("/browsers")
+    public ResponseEntity<BrowserSupervisorStats> getBrowserSupervisorStats() {
+        return ResponseEntity.ok(this.browserSupervisor.getStats());
+    }
+
+    @GetMapping("/rate")
+    public ResponseEntity<RateLimiterStats> getRateLimiterStats() {
+        return ResponseEntity.ok(this.rateLimiter.getStats());
+    }
+
+    @GetMapping("/rides")
+    public ResponseEntity<RideCatalogStats> getRideCatalogStats() {
+        return ResponseEntity.ok(this.rideService.getCatalogStats());
+    }
+
+    @GetMapping("/pipeline")
+    public ResponseEntity<List<PipelineStageStats>> getPipelineStats() {
+        return ResponseEntity.ok(this.parkScraper.getPipelineStats());
+    }
+}
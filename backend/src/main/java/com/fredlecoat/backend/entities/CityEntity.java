@@ -7,12 +7,14 @@ import org.hibernate.annotations.UpdateTimestamp;
 
 import com.fredlecoat.backend.values.CityDifficulty;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -27,9 +29,11 @@ import lombok.Setter;
 @Table(name = "city")
 public class CityEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY) 
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "city_seq")
+    @SequenceGenerator(name = "city_seq", sequenceName = "city_seq", allocationSize = 50)
     private Long id;
 
+    @Column(unique = true)
     private String name;
 
     @Enumerated(EnumType.STRING)
@@ -0,0 +1,57 @@
+package com.fredlecoat.backend.entities;
+
+import java.time.Instant;
+
+import org.hibernate.annotations.UpdateTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Last checkpoint of a crawl, one row per crawl type.
+ * Id sets are bitmaps (BitSet.toByteArray), keys are newline separated.
+ */
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Table(name = "crawl_frontier")
+public class CrawlFrontierEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(unique = true, nullable = false)
+    private String crawlType;
+
+    private boolean finished;
+
+    @Column(columnDefinition = "bytea")
+    private byte[] completedIds;
+
+    @Column(columnDefinition = "bytea")
+    private byte[] foundIds;
+
+    @Column(columnDefinition = "bytea")
+    private byte[] failedIds;
+
+    @Column(columnDefinition = "bytea")
+    private byte[] leasedIds;
+
+    @Column(columnDefinition = "text")
+    private String completedKeys;
+
+    private Instant startedOn;
+
+    @UpdateTimestamp
+    private Instant updatedOn;
+}
@@ -6,9 +6,11 @@ import java.time.LocalDateTime;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import com.fredlecoat.backend.utils.ContentHash;
 import com.fredlecoat.backend.values.DashboardActivityCategory;
 import com.fredlecoat.backend.values.DashboardActivityType;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
@@ -18,6 +20,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -32,7 +35,8 @@ import lombok.Setter;
 @Table(name = "dashboard_activity")
 public class DashboardActivityEntity {
     @Id
-    @GeneratedValue(strategy=GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "dashboard_activity_seq")
+    @SequenceGenerator(name = "dashboard_activity_seq", sequenceName = "dashboard_activity_seq", allocationSize = 50)
     private Long id;
 
     @Enumerated(EnumType.STRING)
@@ -67,6 +71,10 @@ public class DashboardActivityEntity {
 
     private Long amount;
 
+    // ContentHash of (posted, category, text), the deduplication key
+    @Column(unique = true)
+    private Long contentHash;
+
     @CreationTimestamp
     private Instant createdOn;
 
@@ -86,6 +94,7 @@ public class DashboardActivityEntity {
         this.victimPark = victimPark;
         this.ride = ride;
         this.amount = amount;
+        this.contentHash = ContentHash.of(posted, category, text);
     }
 
     @Override
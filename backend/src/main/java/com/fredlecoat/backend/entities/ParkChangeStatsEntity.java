@@ -0,0 +1,56 @@
+package com.fredlecoat.backend.entities;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Visit history of a park, from which its change rate is estimated.
+ * A change is a visit whose capital, social capital, visitors, surface
+ * or note differ from the previous visit.
+ */
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Table(name = "park_change_stats")
+public class ParkChangeStatsEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "park_change_stats_seq")
+    @SequenceGenerator(name = "park_change_stats_seq", sequenceName = "park_change_stats_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(unique = true, nullable = false)
+    private Integer externalId;
+
+    // Visits compared with a previous one, and how many of them saw a change
+    private int comparedVisits;
+
+    private int changes;
+
+    // Sum of the intervals between compared visits
+    private long observedSeconds;
+
+    private long lastFingerprint;
+
+    private Instant lastVisitedOn;
+
+    private Instant lastChangedOn;
+
+    public ParkChangeStatsEntity(Integer externalId, long fingerprint, Instant visitedOn) {
+        this.externalId = externalId;
+        this.lastFingerprint = fingerprint;
+        this.lastVisitedOn = visitedOn;
+    }
+}
@@ -0,0 +1,43 @@
+package com.fredlecoat.backend.entities;
+
+import java.time.Instant;
+
+import org.hibernate.annotations.UpdateTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Persisted part of the park id index: the external ids known to hold no park,
+ * as a bitmap (BitSet.toByteArray), and the position of the rotating re-probe.
+ * Live ids are not stored here, they come from the park table.
+ */
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Table(name = "park_id_index")
+public class ParkIdIndexEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(columnDefinition = "bytea")
+    private byte[] deadIds;
+
+    private int reprobeCursor;
+
+    private int highestProbedId;
+
+    @UpdateTimestamp
+    private Instant updatedOn;
+}
@@ -0,0 +1,9 @@
+package com.fredlecoat.backend.entities.dtos;
+
+public record BrowserSupervisorStats(
+    int browsers,
+    long totalRssMb,
+    long recycles,
+    long lastRecycleRssBeforeMb,
+    long lastRecycleRssAfterMb
+) {}
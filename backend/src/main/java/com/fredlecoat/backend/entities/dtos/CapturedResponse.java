@@ -0,0 +1,11 @@
+package com.fredlecoat.backend.entities.dtos;
+
+/**
+ * A JSON response captured from the game page.
+ * The payload is the parsed body: a Map, a List or a scalar.
+ */
+public record CapturedResponse(
+    String url,
+    int status,
+    Object payload
+) {}
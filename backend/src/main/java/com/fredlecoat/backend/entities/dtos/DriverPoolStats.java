@@ -0,0 +1,12 @@
+package com.fredlecoat.backend.entities.dtos;
+
+public record DriverPoolStats(
+    int slot,
+    boolean healthy,
+    boolean leased,
+    long pagesServed,
+    long failedPages,
+    int consecutiveFailures,
+    double pagesPerSecond
+) {
+}
@@ -0,0 +1,15 @@
+package com.fredlecoat.backend.entities.dtos;
+
+import java.util.Map;
+
+public record PageReadinessStats(
+    String pageType,
+    long count,
+    long timeouts,
+    double meanMs,
+    long maxMs,
+    Map<String, Long> histogram,
+    int baselineDelayMs,
+    long savedMs
+) {
+}
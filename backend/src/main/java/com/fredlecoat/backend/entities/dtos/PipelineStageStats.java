@@ -0,0 +1,12 @@
+package com.fredlecoat.backend.entities.dtos;
+
+public record PipelineStageStats(
+    String stage,
+    int concurrency,
+    int queueDepth,
+    int queueCapacity,
+    long processed,
+    long failed,
+    double itemsPerSecond,
+    double utilization
+) {}
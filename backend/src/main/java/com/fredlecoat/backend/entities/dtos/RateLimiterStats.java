@@ -0,0 +1,11 @@
+package com.fredlecoat.backend.entities.dtos;
+
+public record RateLimiterStats(
+    double rate,
+    int queueDepth,
+    long acquired,
+    long errors,
+    long slowResponses,
+    long decreases,
+    double meanLatencyMs
+) {}
@@ -0,0 +1,10 @@
+package com.fredlecoat.backend.entities.dtos;
+
+public record RideCatalogStats(
+    int rides,
+    long hits,
+    long misses,
+    long loads,
+    long invalidations,
+    double hitRate
+) {}
@@ -0,0 +1,21 @@
+package com.fredlecoat.backend.entities.dtos;
+
+import java.time.Instant;
+
+import com.fredlecoat.backend.values.ScrapeJobState;
+import com.fredlecoat.backend.values.ScrapeJobType;
+
+public record ScrapeJobStatus(
+    String id,
+    ScrapeJobType type,
+    ScrapeJobState state,
+    long pagesDone,
+    long totalPages,
+    long errors,
+    double pagesPerSecond,
+    long etaSeconds,
+    String currentItem,
+    String message,
+    Instant startedOn,
+    Instant finishedOn
+) {}
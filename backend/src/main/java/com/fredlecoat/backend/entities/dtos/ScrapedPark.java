@@ -0,0 +1,14 @@
+package com.fredlecoat.backend.entities.dtos;
+
+import java.util.List;
+
+import com.fredlecoat.backend.entities.ParkEntity;
+
+/**
+ * A park read from its page, not yet saved, with the normalized image URLs of
+ * all its rides. Null rideImageUrls leaves the park's rides as they are.
+ */
+public record ScrapedPark(
+    ParkEntity park,
+    List<String> rideImageUrls
+) {}
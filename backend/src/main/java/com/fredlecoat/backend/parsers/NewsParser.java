@@ -1,8 +1,44 @@
 package com.fredlecoat.backend.parsers;
 
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.MatchResult;
+import java.util.regex.Pattern;
+
 import com.fredlecoat.backend.entities.dtos.ParsedNews;
 
+/**
+ * Parser for one kind of dashboard news.
+ *
+ * The classifier only tries the pattern of a parser when the text contains one of
+ * its anchors, so every text the pattern matches must contain at least one of them.
+ */
 public interface NewsParser {
-    boolean isMatching(String text);
-    ParsedNews parse(String text);
+
+    /**
+     * Lowercase literal fragments of the news, e.g. "vient de mettre en".
+     */
+    List<String> anchors();
+
+    /**
+     * Pattern matched against the whole text.
+     */
+    Pattern pattern();
+
+    /**
+     * Builds the news from a successful match of the pattern.
+     */
+    ParsedNews fromMatch(MatchResult match);
+
+    default boolean isMatching(String text) {
+        return pattern().matcher(text).matches();
+    }
+
+    default ParsedNews parse(String text) {
+        Matcher matcher = pattern().matcher(text);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Text not handled by " + getClass().getSimpleName() + ": " + text);
+        }
+        return fromMatch(matcher);
+    }
 }
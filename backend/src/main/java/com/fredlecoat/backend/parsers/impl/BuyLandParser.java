@@ -1,6 +1,7 @@
 package com.fredlecoat.backend.parsers.impl;
 
-import java.util.regex.Matcher;
+import java.util.List;
+import java.util.regex.MatchResult;
 import java.util.regex.Pattern;
 
 import org.springframework.stereotype.Component;
@@ -17,21 +18,26 @@ public class BuyLandParser implements NewsParser {
         Pattern.CASE_INSENSITIVE
     );
 
+    private static final List<String> ANCHORS = List.of("viens d'acheter");
+
+    @Override
+    public List<String> anchors() {
+        return ANCHORS;
+    }
+
     @Override
-    public boolean isMatching(String text) {
-        return PATTERN.matcher(text).matches();
+    public Pattern pattern() {
+        return PATTERN;
     }
 
     @Override
-    public ParsedNews parse(String text) {
-        Matcher matcher = PATTERN.matcher(text);
-        matcher.matches();
+    public ParsedNews fromMatch(MatchResult match) {
         // Remove spaces from quantity (e.g., "2 300" -> "2300")
-        String quantityStr = matcher.group(2).replaceAll("\\s+", "");
+        String quantityStr = match.group(2).replaceAll("\\s+", "");
         return new ParsedNews(
             null,
-            matcher.group(3),
-            matcher.group(1),
+            match.group(3),
+            match.group(1),
             null,
             null,
             Integer.parseInt(quantityStr),
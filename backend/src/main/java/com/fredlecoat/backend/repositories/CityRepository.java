@@ -1,5 +1,8 @@
 package com.fredlecoat.backend.repositories;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -8,4 +11,5 @@ import com.fredlecoat.backend.entities.CityEntity;
 @Repository
 public interface CityRepository extends JpaRepository<CityEntity, Long> {
     CityEntity findByName(String name);
+    List<CityEntity> findAllByNameIn(Collection<String> names);
 }
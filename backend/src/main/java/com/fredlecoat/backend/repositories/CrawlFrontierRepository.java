@@ -0,0 +1,11 @@
+package com.fredlecoat.backend.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.fredlecoat.backend.entities.CrawlFrontierEntity;
+
+@Repository
+public interface CrawlFrontierRepository extends JpaRepository<CrawlFrontierEntity, Long> {
+    CrawlFrontierEntity findByCrawlType(String crawlType);
+}
@@ -1,22 +1,27 @@
 package com.fredlecoat.backend.repositories;
 
-import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.fredlecoat.backend.entities.DashboardActivityEntity;
-import com.fredlecoat.backend.values.DashboardActivityCategory;
-import com.fredlecoat.backend.values.DashboardActivityType;
 
 @Repository
 public interface DashboardActivityRepository extends JpaRepository<DashboardActivityEntity, Long>{
 
-    Optional<DashboardActivityEntity> findByPostedAndTypeAndCategoryAndText(
-        LocalDateTime posted,
-        DashboardActivityType type,
-        DashboardActivityCategory category,
-        String text
-    );
+    List<DashboardActivityEntity> findAllByContentHashIsNullAndIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    Optional<DashboardActivityEntity> findFirstByContentHashIsNotNullOrderByPostedDescIdDesc();
+
+    @Query("select a.contentHash from DashboardActivityEntity a where a.contentHash is not null order by a.posted desc")
+    List<Long> findRecentContentHashes(Pageable pageable);
+
+    @Query("select a.contentHash from DashboardActivityEntity a where a.contentHash in :hashes")
+    List<Long> findExistingContentHashes(@Param("hashes") Collection<Long> hashes);
 }
@@ -0,0 +1,324 @@
+package com.fredlecoat.backend.repositories;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.stereotype.Repository;
+
+import com.fredlecoat.backend.configuration.SequenceAlignment;
+import com.fredlecoat.backend.entities.CityEntity;
+import com.fredlecoat.backend.entities.DashboardActivityEntity;
+import com.fredlecoat.backend.entities.ParkEntity;
+import com.fredlecoat.backend.entities.RideEntity;
+
+/**
+ * PostgreSQL upserts (INSERT ... ON CONFLICT) for scraped rows, written as one
+ * multi-row statement per chunk instead of a lookup and a save per row.
+ *
+ * Ids are taken from the entity sequences by whole blocks, the way Hibernate's
+ * pooled optimizer does, so rows inserted here and by JPA never share an id.
+ */
+@Repository
+public class NativeUpsertRepository {
+
+    // Rows per statement, far below PostgreSQL's 65535 bind parameters
+    private static final int CHUNK_ROWS = 1000;
+
+    private static final String PARK_UPSERT = """
+        INSERT INTO park (id, external_id, name, player_id, city_id, capital, social_capital,
+            yesterday_visitors, used_surface, note, created_on, updated_on)
+        VALUES %s
+        ON CONFLICT (external_id) DO UPDATE SET
+            name = COALESCE(EXCLUDED.name, park.name),
+            player_id = COALESCE(EXCLUDED.player_id, park.player_id),
+            city_id = COALESCE(EXCLUDED.city_id, park.city_id),
+            capital = COALESCE(EXCLUDED.capital, park.capital),
+            social_capital = COALESCE(EXCLUDED.social_capital, park.social_capital),
+            yesterday_visitors = COALESCE(EXCLUDED.yesterday_visitors, park.yesterday_visitors),
+            used_surface = COALESCE(EXCLUDED.used_surface, park.used_surface),
+            note = COALESCE(EXCLUDED.note, park.note),
+            updated_on = EXCLUDED.updated_on
+        RETURNING id, external_id, name, capital, social_capital, yesterday_visitors, used_surface, note
+        """;
+
+    private static final String CITY_INSERT = """
+        INSERT INTO city (id, name, difficulty, country, population, available_surface, surface,
+            max_height, park_population, park_capacity, price_by_meter, created_on, updated_on)
+        VALUES %s
+        ON CONFLICT (name) DO NOTHING
+        """;
+
+    private static final String RIDE_INSERT = """
+        INSERT INTO ride (id, type, max_capacity_by_hour, hype, name, brand, price, surface,
+            image_url, created_on, updated_on)
+        VALUES %s
+        ON CONFLICT (image_url) DO NOTHING
+        """;
+
+    private static final String ACTIVITY_INSERT = """
+        INSERT INTO dashboard_activity (id, category, posted, type, text, player_id, city_id,
+            actor_park_id, victim_park_id, ride_id, amount, content_hash, created_on, updated_on)
+        VALUES %s
+        ON CONFLICT (content_hash) DO NOTHING
+        RETURNING id, content_hash
+        """;
+
+    private static final String PLAYER_INSERT = """
+        INSERT INTO player (id, name, created_on, updated_on)
+        VALUES %s
+        ON CONFLICT (name) DO NOTHING
+        """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the parks, or updates the park with the same external id. As in
+     * ParkServiceImpl.mergeIntoExisting, null values never overwrite stored ones.
+     * Returns the resulting rows as detached entities, without owner, city or rides.
+     */
+    public List<ParkEntity> upsertParks(List<ParkEntity> parks) {
+        List<ParkEntity> saved = new ArrayList<>(parks.size());
+        for (List<ParkEntity> chunk : chunks(parks)) {
+            long[] ids = allocateIds("park_seq", chunk.size());
+            Timestamp now = Timestamp.from(Instant.now());
+            List<Object> args = new ArrayList<>(chunk.size() * 12);
+
+            for (int i = 0; i < chunk.size(); i++) {
+                ParkEntity park = chunk.get(i);
+                args.add(ids[i]);
+                args.add(park.getExternalId());
+                args.add(park.getName());
+                args.add(new SqlParameterValue(Types.BIGINT, park.getOwner() != null ? park.getOwner().getId() : null));
+                args.add(new SqlParameterValue(Types.BIGINT, park.getCity() != null ? park.getCity().getId() : null));
+                args.add(new SqlParameterValue(Types.BIGINT, park.getCapital()));
+                args.add(new SqlParameterValue(Types.BIGINT, park.getSocialCapital()));
+                args.add(new SqlParameterValue(Types.INTEGER, park.getYesterdayVisitors()));
+                args.add(new SqlParameterValue(Types.INTEGER, park.getUsedSurface()));
+                args.add(new SqlParameterValue(Types.INTEGER, park.getNote()));
+                args.add(now);
+                args.add(now);
+            }
+
+            saved.addAll(jdbcTemplate.query(PARK_UPSERT.formatted(placeholders(chunk.size(), 12)), (rs, row) -> {
+                ParkEntity park = new ParkEntity(
+                    rs.getInt("external_id"),
+                    rs.getString("name"),
+                    null,
+                    rs.getObject("capital", Long.class),
+                    rs.getObject("social_capital", Long.class),
+                    rs.getObject("yesterday_visitors", Integer.class),
+                    rs.getObject("used_surface", Integer.class),
+                    rs.getObject("note", Integer.class)
+                );
+                park.setId(rs.getLong("id"));
+                return park;
+            }, args.toArray()));
+        }
+        return saved;
+    }
+
+    /**
+     * Inserts the cities whose name is not stored yet. Stored cities are left unchanged.
+     */
+    public void insertCitiesIfAbsent(List<CityEntity> cities) {
+        for (List<CityEntity> chunk : chunks(cities)) {
+            long[] ids = allocateIds("city_seq", chunk.size());
+            Timestamp now = Timestamp.from(Instant.now());
+            List<Object> args = new ArrayList<>(chunk.size() * 13);
+
+            for (int i = 0; i < chunk.size(); i++) {
+                CityEntity city = chunk.get(i);
+                args.add(ids[i]);
+                args.add(city.getName());
+                args.add(new SqlParameterValue(Types.VARCHAR, city.getDifficulty() != null ? city.getDifficulty().name() : null));
+                args.add(new SqlParameterValue(Types.VARCHAR, city.getCountry()));
+                args.add(new SqlParameterValue(Types.BIGINT, city.getPopulation()));
+                args.add(new SqlParameterValue(Types.BIGINT, city.getAvailableSurface()));
+                args.add(new SqlParameterValue(Types.BIGINT, city.getSurface()));
+                args.add(city.getMaxHeight());
+                args.add(city.getParkPopulation());
+                args.add(city.getParkCapacity());
+                args.add(city.getPriceByMeter());
+                args.add(now);
+                args.add(now);
+            }
+
+            jdbcTemplate.update(CITY_INSERT.formatted(placeholders(chunk.size(), 13)), args.toArray());
+        }
+    }
+
+    /**
+     * Inserts the rides whose image URL is not stored yet. Stored rides are left unchanged.
+     */
+    public void insertRidesIfAbsent(List<RideEntity> rides) {
+        for (List<RideEntity> chunk : chunks(rides)) {
+            long[] ids = allocateIds("ride_seq", chunk.size());
+            Timestamp now = Timestamp.from(Instant.now());
+            List<Object> args = new ArrayList<>(chunk.size() * 11);
+
+            for (int i = 0; i < chunk.size(); i++) {
+                RideEntity ride = chunk.get(i);
+                args.add(ids[i]);
+                args.add(new SqlParameterValue(Types.VARCHAR, ride.getType() != null ? ride.getType().name() : null));
+                args.add(ride.getMaxCapacityByHour());
+                args.add(ride.getHype());
+                args.add(new SqlParameterValue(Types.VARCHAR, ride.getName()));
+                args.add(new SqlParameterValue(Types.VARCHAR, ride.getBrand()));
+                args.add(new SqlParameterValue(Types.BIGINT, ride.getPrice()));
+                args.add(new SqlParameterValue(Types.BIGINT, ride.getSurface()));
+                args.add(ride.getImageUrl());
+                args.add(now);
+                args.add(now);
+            }
+
+            jdbcTemplate.update(RIDE_INSERT.formatted(placeholders(chunk.size(), 11)), args.toArray());
+        }
+    }
+
+    /**
+     * Sets the image URL of rides stored without one, as {image url, ride id} pairs.
+     */
+    public void fillRideImageUrls(List<Object[]> imageUrlsById) {
+        if (!imageUrlsById.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                "UPDATE ride SET image_url = ?, updated_on = now() WHERE id = ? AND image_url IS NULL", imageUrlsById
+            );
+        }
+    }
+
+    /**
+     * Inserts the dashboard activities whose content hash is not stored yet.
+     * Returns the inserted ones, with their id set.
+     */
+    public List<DashboardActivityEntity> insertActivitiesIfAbsent(List<DashboardActivityEntity> activities) {
+        List<DashboardActivityEntity> inserted = new ArrayList<>();
+        for (List<DashboardActivityEntity> chunk : chunks(activities)) {
+            long[] ids = allocateIds("dashboard_activity_seq", chunk.size());
+            Timestamp now = Timestamp.from(Instant.now());
+            List<Object> args = new ArrayList<>(chunk.size() * 14);
+            Map<Long, DashboardActivityEntity> byHash = new HashMap<>();
+
+            for (int i = 0; i < chunk.size(); i++) {
+                DashboardActivityEntity activity = chunk.get(i);
+                byHash.put(activity.getContentHash(), activity);
+                args.add(ids[i]);
+                args.add(new SqlParameterValue(Types.VARCHAR, activity.getCategory() != null ? activity.getCategory().name() : null));
+                args.add(new SqlParameterValue(Types.TIMESTAMP, activity.getPosted() != null ? Timestamp.valueOf(activity.getPosted()) : null));
+                args.add(new SqlParameterValue(Types.VARCHAR, activity.getType() != null ? activity.getType().name() : null));
+                args.add(new SqlParameterValue(Types.VARCHAR, activity.getText()));
+                args.add(new SqlParameterValue(Types.BIGINT, activity.getPlayer() != null ? activity.getPlayer().getId() : null));
+                args.add(new SqlParameterValue(Types.BIGINT, activity.getCity() != null ? activity.getCity().getId() : null));
+                args.add(new SqlParameterValue(Types.BIGINT, activity.getActorPark() != null ? activity.getActorPark().getId() : null));
+                args.add(new SqlParameterValue(Types.BIGINT, activity.getVictimPark() != null ? activity.getVictimPark().getId() : null));
+                args.add(new SqlParameterValue(Types.BIGINT, activity.getRide() != null ? activity.getRide().getId() : null));
+                args.add(new SqlParameterValue(Types.BIGINT, activity.getAmount()));
+                args.add(activity.getContentHash());
+                args.add(now);
+                args.add(now);
+            }
+
+            jdbcTemplate.query(ACTIVITY_INSERT.formatted(placeholders(chunk.size(), 14)), rs -> {
+                DashboardActivityEntity activity = byHash.get(rs.getLong("content_hash"));
+                activity.setId(rs.getLong("id"));
+                inserted.add(activity);
+            }, args.toArray());
+        }
+        return inserted;
+    }
+
+    /**
+     * Inserts the players whose name is not stored yet.
+     */
+    public void insertPlayersIfAbsent(List<String> names) {
+        for (List<String> chunk : chunks(names)) {
+            long[] ids = allocateIds("player_seq", chunk.size());
+            Timestamp now = Timestamp.from(Instant.now());
+            List<Object> args = new ArrayList<>(chunk.size() * 4);
+
+            for (int i = 0; i < chunk.size(); i++) {
+                args.add(ids[i]);
+                args.add(chunk.get(i));
+                args.add(now);
+                args.add(now);
+            }
+
+            jdbcTemplate.update(PLAYER_INSERT.formatted(placeholders(chunk.size(), 4)), args.toArray());
+        }
+    }
+
+    /**
+     * Reads the rides linked to each of the parks, in one query per chunk of parks.
+     */
+    public Map<Long, Set<Long>> findRideIdsByParkIds(List<Long> parkIds) {
+        Map<Long, Set<Long>> rideIds = new HashMap<>();
+        for (List<Long> chunk : chunks(parkIds)) {
+            String in = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            jdbcTemplate.query(
+                "SELECT park_id, ride_id FROM parks_rides WHERE park_id IN (" + in + ")",
+                rs -> {
+                    rideIds.computeIfAbsent(rs.getLong("park_id"), parkId -> new HashSet<>()).add(rs.getLong("ride_id"));
+                },
+                chunk.toArray()
+            );
+        }
+        return rideIds;
+    }
+
+    /**
+     * Applies a diff of parks_rides, as {park id, ride id} pairs: one batch of inserts, one of deletes.
+     */
+    public void updateParkRides(List<Object[]> inserts, List<Object[]> deletes) {
+        if (!deletes.isEmpty()) {
+            jdbcTemplate.batchUpdate("DELETE FROM parks_rides WHERE park_id = ? AND ride_id = ?", deletes);
+        }
+        if (!inserts.isEmpty()) {
+            // A concurrent crawl of the same park may have linked the ride in between
+            jdbcTemplate.batchUpdate("INSERT INTO parks_rides (park_id, ride_id) VALUES (?, ?) ON CONFLICT DO NOTHING", inserts);
+        }
+    }
+
+    /**
+     * Takes count ids from a sequence. Each value read is the top of a block of
+     * ALLOCATION_SIZE ids, as for Hibernate's pooled optimizer.
+     */
+    private long[] allocateIds(String sequence, int count) {
+        int blocks = (count + SequenceAlignment.ALLOCATION_SIZE - 1) / SequenceAlignment.ALLOCATION_SIZE;
+        List<Long> highs = jdbcTemplate.queryForList(
+            "SELECT nextval('" + sequence + "') FROM generate_series(1, ?)", Long.class, blocks
+        );
+
+        long[] ids = new long[count];
+        int next = 0;
+        for (long high : highs) {
+            for (long id = high - SequenceAlignment.ALLOCATION_SIZE + 1; id <= high && next < count; id++) {
+                ids[next++] = id;
+            }
+        }
+        return ids;
+    }
+
+    private static String placeholders(int rows, int columns) {
+        String row = "(" + String.join(", ", Collections.nCopies(columns, "?")) + ")";
+        return String.join(",\n", Collections.nCopies(rows, row));
+    }
+
+    private static <T> List<List<T>> chunks(List<T> items) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int start = 0; start < items.size(); start += CHUNK_ROWS) {
+            chunks.add(items.subList(start, Math.min(items.size(), start + CHUNK_ROWS)));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,15 @@
+package com.fredlecoat.backend.repositories;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.fredlecoat.backend.entities.ParkChangeStatsEntity;
+
+@Repository
+public interface ParkChangeStatsRepository extends JpaRepository<ParkChangeStatsEntity, Long> {
+    ParkChangeStatsEntity findByExternalId(Integer externalId);
+    List<ParkChangeStatsEntity> findAllByExternalIdIn(Collection<Integer> externalIds);
+}
@@ -1,6 +1,9 @@
 package com.fredlecoat.backend.repositories;
 
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.fredlecoat.backend.entities.ParkEntity;
@@ -9,4 +12,7 @@ import com.fredlecoat.backend.entities.ParkEntity;
 public interface ParkRepository extends JpaRepository<ParkEntity, Long>{
     ParkEntity findByName(String name);
     ParkEntity findByExternalId(Integer externalId);
+
+    @Query("select p.externalId from ParkEntity p")
+    List<Integer> findAllExternalIds();
 }
@@ -1,8 +1,11 @@
 package com.fredlecoat.backend.repositories;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.fredlecoat.backend.entities.PlayerEntity;
@@ -11,4 +14,8 @@ import com.fredlecoat.backend.entities.PlayerEntity;
 public interface PlayerRepository extends JpaRepository<PlayerEntity, Long>{
     PlayerEntity findByName(String name);
     Optional<PlayerEntity> findFirstByName(String name);
+    List<PlayerEntity> findAllByNameIn(Collection<String> names);
+
+    @Query("select p.id, p.name from PlayerEntity p")
+    List<Object[]> findAllIdsAndNames();
 }
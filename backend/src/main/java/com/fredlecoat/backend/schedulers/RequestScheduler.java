@@ -5,6 +5,7 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import com.fredlecoat.backend.services.CsvExportService;
+import com.fredlecoat.backend.services.ParkRecrawlService;
 import com.fredlecoat.backend.services.ScraperService;
 
 @Component
@@ -15,6 +16,9 @@ public class RequestScheduler {
     @Autowired 
     private CsvExportService csvExportService;
 
+    @Autowired
+    private ParkRecrawlService parkRecrawlService;
+
 
     @Scheduled(cron = "00 00 04 * * ?", zone = "Europe/Paris") // Tous les jours à 4h00
     public void longScheduler() {
@@ -27,6 +31,11 @@ public class RequestScheduler {
         }
     }
 
+    @Scheduled(cron = "00 30 * * * ?", zone = "Europe/Paris") // Toutes les heures à la demie
+    public void recrawlScheduler() {
+        this.parkRecrawlService.recrawl();
+    }
+
     @Scheduled(fixedRate = 1000 * 60 * 30) // 30 minutes
     public void mediumScheduler() {
         //System.out.println("########## PERSONAL DATA ##########");
@@ -1,8 +1,21 @@
 package com.fredlecoat.backend.services;
 
+import java.util.List;
+import java.util.Map;
+
 import com.fredlecoat.backend.entities.CityEntity;
 
 public interface CityService {
+
+    /**
+     * Resolves a city from the in-memory dictionary, ignoring case, accents and spacing.
+     */
     CityEntity findByName(String name);
     CityEntity save(CityEntity entity);
+    Map<String, CityEntity> saveAll(List<CityEntity> entities);
+
+    /**
+     * Reloads the city dictionary from the database.
+     */
+    void refreshDictionary();
 }
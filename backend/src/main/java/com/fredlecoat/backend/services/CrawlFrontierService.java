@@ -0,0 +1,22 @@
+package com.fredlecoat.backend.services;
+
+import com.fredlecoat.backend.services.scrapers.CrawlFrontier;
+
+/**
+ * Durable storage of crawl frontiers, so that an interrupted crawl resumes where it stopped.
+ */
+public interface CrawlFrontierService {
+    /**
+     * Returns the frontier of the unfinished crawl of this type, or a fresh one.
+     */
+    CrawlFrontier resume(String crawlType);
+
+    void checkpointIfDue(CrawlFrontier frontier);
+
+    void checkpoint(CrawlFrontier frontier);
+
+    /**
+     * Marks the crawl as finished: the next crawl of this type starts from scratch.
+     */
+    void finish(CrawlFrontier frontier);
+}
@@ -1,9 +1,14 @@
 package com.fredlecoat.backend.services;
 
+import java.util.List;
 import java.util.Map;
 
 import com.fredlecoat.backend.entities.DashboardActivityEntity;
 
 public interface DashboardActivityService {
     DashboardActivityEntity create(Map<String, Object> activityData);
+
+    List<DashboardActivityEntity> createAll(List<Map<String, Object>> activitiesData);
+
+    List<DashboardActivityEntity> createNew(List<Map<String, Object>> journal);
 }
@@ -14,6 +14,28 @@ public interface LoginService extends WebDriverProvider {
     @Deprecated
     WebDriver getDriver();
 
+    /**
+     * Launches a new browser and logs it in, independently of the cached driver.
+     * The caller owns the returned driver and is responsible for quitting it.
+     */
+    WebDriver createDriver();
+
+    /**
+     * Launches a new browser without logging it in.
+     */
+    WebDriver launchBrowser();
+
+    /**
+     * Submits the login form with the given browser.
+     */
+    void authenticate(WebDriver driver);
+
+    /**
+     * Makes the given browser the cached driver and returns the previous one,
+     * which the caller is responsible for quitting.
+     */
+    WebDriver replaceDriver(WebDriver replacement);
+
     @Override
     default WebDriver getAuthenticatedDriver() {
         return getDriver();
@@ -0,0 +1,37 @@
+package com.fredlecoat.backend.services;
+
+import java.util.function.IntPredicate;
+
+/**
+ * Compact index of the park external ids known to exist (live) or not (dead).
+ */
+public interface ParkIdIndexService {
+    /**
+     * True once at least one live id is known, i.e. a crawl can be planned from the index.
+     */
+    boolean hasData();
+
+    int getHighestLiveId();
+
+    /**
+     * Ids a crawl should visit in [startId, endId], ascending: live and unknown ids,
+     * plus the next rotating batch of dead ids to re-probe.
+     */
+    int[] planCrawl(int startId, int endId);
+
+    /**
+     * Finds the highest existing id, starting from the highest live id, by galloping
+     * then binary search: the id followed by PARK_INDEX_PROBE_WINDOW missing ids.
+     * The probe returns whether a park exists at an id.
+     */
+    int findHighestId(IntPredicate probe);
+
+    void recordLive(int externalId);
+
+    void recordDead(int externalId);
+
+    /**
+     * Persists the dead ids and the re-probe position.
+     */
+    void checkpoint();
+}
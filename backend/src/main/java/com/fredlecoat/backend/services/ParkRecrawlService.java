@@ -0,0 +1,19 @@
+package com.fredlecoat.backend.services;
+
+import java.util.List;
+
+/**
+ * Re-scrapes, within a pages-per-hour budget, the parks most likely to have changed.
+ */
+public interface ParkRecrawlService {
+    /**
+     * External ids of the parks to re-scrape, most likely changed first.
+     */
+    List<Integer> selectParks(int budget);
+
+    /**
+     * Re-scrapes the selected parks as a park job. Returns the number of parks scraped,
+     * or -1 if skipped because disabled or another park job is running.
+     */
+    int recrawl();
+}
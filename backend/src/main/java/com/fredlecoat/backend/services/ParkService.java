@@ -1,16 +1,20 @@
 package com.fredlecoat.backend.services;
 
+import java.util.List;
+
 import com.fredlecoat.backend.entities.CityEntity;
 import com.fredlecoat.backend.entities.ParkEntity;
 import com.fredlecoat.backend.entities.PlayerEntity;
 import com.fredlecoat.backend.entities.dtos.ParsedNews;
+import com.fredlecoat.backend.entities.dtos.ScrapedPark;
 
 public interface ParkService {
     ParkEntity save(ParkEntity entity);
+    List<ParkEntity> saveAll(List<ScrapedPark> parks);
     ParkEntity findByName(String name);
     ParkEntity findByExternalId(Integer externalId);
     ParkEntity handleParser(ParsedNews news);
     ParkEntity addRide(ParkEntity park, String rideName);
-    ParkEntity addRideByImageUrl(ParkEntity park, String imageUrl);
+    void syncRidesByImageUrl(Long parkId, List<String> imageUrls);
     ParkEntity updateOwnerAndCity(String parkName, PlayerEntity owner, CityEntity city);
 }
@@ -1,5 +1,8 @@
 package com.fredlecoat.backend.services;
 
+import java.util.Collection;
+import java.util.Map;
+
 import com.fredlecoat.backend.entities.PlayerEntity;
 import com.fredlecoat.backend.entities.dtos.MainPlayerRequest;
 
@@ -7,4 +10,9 @@ public interface PlayerService {
     PlayerEntity saveMainPlayer(MainPlayerRequest request);
     PlayerEntity findByName(String name);
     PlayerEntity findOrCreate(String name);
+
+    /**
+     * Finds or creates every player of the given names, keyed by name.
+     */
+    Map<String, PlayerEntity> resolveOrCreate(Collection<String> names);
 }
@@ -1,10 +1,23 @@
 package com.fredlecoat.backend.services;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 import com.fredlecoat.backend.entities.RideEntity;
+import com.fredlecoat.backend.entities.dtos.RideCatalogStats;
 
 public interface RideService {
     RideEntity findById(Long id);
     RideEntity findByName(String name);
     RideEntity findByImageUrl(String imageUrl);
+    Map<String, RideEntity> findAllByImageUrls(Collection<String> imageUrls);
     RideEntity save(RideEntity entity);
+    void saveAll(List<RideEntity> entities);
+
+    /**
+     * Reloads the in-memory ride index that serves the find methods.
+     */
+    void refreshCatalog();
+    RideCatalogStats getCatalogStats();
 }
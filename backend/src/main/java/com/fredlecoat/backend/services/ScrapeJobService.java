@@ -0,0 +1,46 @@
+package com.fredlecoat.backend.services;
+
+import java.util.List;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fredlecoat.backend.entities.dtos.ScrapeJobStatus;
+import com.fredlecoat.backend.values.ScrapeJobType;
+import com.fredlecoat.backend.values.ScrapingEngine;
+
+/**
+ * Runs scrapes in the background, one job per type at a time.
+ */
+public interface ScrapeJobService {
+    /**
+     * Starts a job. Returns null if a job of the same type is already running.
+     */
+    ScrapeJobStatus submit(ScrapeJobType type, ScrapingEngine engine, int startId);
+
+    /**
+     * Runs a job on the calling thread and returns its final status.
+     * Returns null, without running it, if a job of the same type is already running.
+     */
+    ScrapeJobStatus runAndWait(ScrapeJobType type, ScrapingEngine engine, int startId);
+
+    /**
+     * Re-scrapes the given parks as a park job on the calling thread and returns its final status.
+     * Returns null, without running it, if a park job is already running.
+     */
+    ScrapeJobStatus recrawlParks(int[] parkIds, ScrapingEngine engine);
+
+    ScrapeJobStatus getStatus(String jobId);
+
+    List<ScrapeJobStatus> getJobs();
+
+    /**
+     * Requests the job to stop after its current page. Returns false if the job is unknown.
+     */
+    boolean cancel(String jobId);
+
+    /**
+     * Streams the status of the job as server-sent events until it finishes.
+     * Returns null if the job is unknown.
+     */
+    SseEmitter subscribe(String jobId);
+}
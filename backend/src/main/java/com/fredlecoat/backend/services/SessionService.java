@@ -0,0 +1,49 @@
+package com.fredlecoat.backend.services;
+
+import java.util.Map;
+
+import org.jsoup.nodes.Document;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Shared TPI session for every fetcher (browsers and HTTP clients).
+ *
+ * The session is identified by a generation number that increases on every
+ * re-login. A fetcher remembers the generation it started with; when it lands
+ * on the login form it asks for a restore with that generation, so that when
+ * several fetchers notice the expiry at once only the first one logs in again.
+ */
+public interface SessionService {
+
+    /**
+     * Current session generation, to pass back to {@link #restore}.
+     */
+    long getGeneration();
+
+    /**
+     * Cookie jar of the authenticated session (name to value).
+     */
+    Map<String, String> getCookies();
+
+    /**
+     * Returns true if the browser currently shows the login form.
+     */
+    boolean isLoginPage(WebDriver driver);
+
+    /**
+     * Returns true if the fetched document is the login form.
+     */
+    boolean isLoginPage(Document document);
+
+    /**
+     * Re-authenticates once if the session is still the given generation,
+     * then makes the given browser (if any) use the fresh session.
+     * Returns the new generation.
+     */
+    long restore(WebDriver driver, long seenGeneration);
+
+    /**
+     * Launches a new browser that shares the current session instead of logging in.
+     */
+    WebDriver createSessionDriver();
+}
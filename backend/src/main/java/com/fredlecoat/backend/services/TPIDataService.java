@@ -1,7 +1,10 @@
 package com.fredlecoat.backend.services;
 
+import com.fredlecoat.backend.values.ScrapingEngine;
+
 public interface TPIDataService {
     public void getAllRidesData();
     public void getAllCitiesData();
     public void getAllParksData();
+    public void getAllParksData(ScrapingEngine engine);
 }
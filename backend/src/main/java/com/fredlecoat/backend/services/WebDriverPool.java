@@ -0,0 +1,75 @@
+package com.fredlecoat.backend.services;
+
+import java.util.List;
+
+import org.openqa.selenium.WebDriver;
+
+import com.fredlecoat.backend.entities.dtos.DriverPoolStats;
+
+/**
+ * Pool of independently authenticated WebDrivers for parallel crawls.
+ *
+ * A driver leased by a thread is what {@link #getAuthenticatedDriver()} returns
+ * on that thread until it is released, so scrapers keep using the usual
+ * BaseScraper helpers whether they run alone or as one of several workers.
+ */
+public interface WebDriverPool extends WebDriverProvider {
+
+    /**
+     * Binds a free driver to the calling thread.
+     * Returns null if no healthy driver became available in time.
+     */
+    WebDriver lease();
+
+    /**
+     * Binds the primary driver (slot 0, the login service's driver) to the calling thread,
+     * waiting for its current user to release it. Scrapers driving the primary driver
+     * outside of a parallel crawl lease it while they use the browser, so that the pool
+     * neither recycles it nor hands it to a worker meanwhile.
+     * Returns null if it did not become free in time.
+     */
+    WebDriver leasePrimary();
+
+    /**
+     * Binds the primary driver to the calling thread if it is free right now, without waiting.
+     * Returns null otherwise.
+     */
+    WebDriver tryLeasePrimary();
+
+    /**
+     * Hands a task to the thread holding the primary driver, which runs it with that driver
+     * between two of its pages or when it releases it. If the primary driver is free, the task
+     * runs right away on the calling thread. A task already waiting is not queued twice.
+     */
+    void deferToPrimary(Runnable task);
+
+    /**
+     * Runs the tasks handed over by {@link #deferToPrimary(Runnable)} if the calling thread
+     * holds the primary driver. To be called between two pages: returns true if a task ran,
+     * the browser having then left the caller's page.
+     */
+    boolean runPendingPrimaryTasks();
+
+    /**
+     * Records the outcome of a page handled by the driver leased to the calling thread.
+     */
+    void recordPage(boolean success);
+
+    /**
+     * Returns the driver leased to the calling thread to the pool, once released as often as leased.
+     */
+    void release();
+
+    /**
+     * Recycles the driver leased to the calling thread and the idle drivers that
+     * crossed the supervisor's thresholds. To be called between two pages.
+     */
+    void recycleIdleDrivers();
+
+    /**
+     * Number of drivers the pool is configured to run.
+     */
+    int size();
+
+    List<DriverPoolStats> getStats();
+}
@@ -1,24 +1,66 @@
 package com.fredlecoat.backend.services.implementations;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.fredlecoat.backend.entities.CityEntity;
 import com.fredlecoat.backend.repositories.CityRepository;
+import com.fredlecoat.backend.repositories.NativeUpsertRepository;
 import com.fredlecoat.backend.services.CityService;
+import com.fredlecoat.backend.utils.ScrapingParser;
 
+/**
+ * Les villes (quelques dizaines, rafraîchies par CityScraper) sont résolues par
+ * un dictionnaire en mémoire dont les clés ignorent casse, accents et espaces.
+ * Le dictionnaire est chargé au démarrage et remplacé d'un bloc à chaque rechargement.
+ */
 @Service
 public class CityServiceImpl implements CityService {
 
     @Autowired
     private CityRepository cityRepository;
 
+    @Autowired
+    private NativeUpsertRepository nativeUpsertRepository;
+
+    // Ville par nom normalisé; null tant qu'il n'a pas été chargé
+    private volatile Map<String, CityEntity> dictionary;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadDictionary() {
+        try {
+            refreshDictionary();
+        } catch (Exception e) {
+            System.err.println("ERREUR CHARGEMENT DES VILLES: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void refreshDictionary() {
+        Map<String, CityEntity> loaded = new HashMap<>();
+        for (CityEntity city : this.cityRepository.findAll()) {
+            if (city.getName() != null) {
+                loaded.putIfAbsent(ScrapingParser.normalizeName(city.getName()), city);
+            }
+        }
+        this.dictionary = Map.copyOf(loaded);
+        System.out.println("DICTIONNAIRE DES VILLES CHARGE: " + loaded.size() + " villes");
+    }
+
     @Override
     public CityEntity findByName(String name) {
         if (name == null) {
             return null;
         }
-        return this.cityRepository.findByName(name);
+        return dictionary().get(ScrapingParser.normalizeName(name));
     }
 
     @Override
@@ -27,11 +69,75 @@ public class CityServiceImpl implements CityService {
             return null;
         }
 
-        CityEntity foundEntity = this.cityRepository.findByName(entity.getName());
-        if (foundEntity != null) {
-            return foundEntity;
+        // "Saint-Etienne" désigne la ville déjà connue sous "Saint-Étienne": pas de seconde ligne
+        CityEntity known = findByName(entity.getName());
+        if (known != null) {
+            return known;
+        }
+
+        // Une ville existante reste inchangée (ON CONFLICT DO NOTHING sur le nom)
+        this.nativeUpsertRepository.insertCitiesIfAbsent(List.of(entity));
+        CityEntity saved = this.cityRepository.findByName(entity.getName());
+        remember(List.of(saved));
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public Map<String, CityEntity> saveAll(List<CityEntity> entities) {
+        List<CityEntity> named = entities.stream().filter(city -> city != null && city.getName() != null).toList();
+        Map<String, CityEntity> cities = new HashMap<>();
+        if (named.isEmpty()) {
+            return cities;
+        }
+
+        List<CityEntity> unknown = new ArrayList<>();
+        for (CityEntity city : named) {
+            CityEntity known = findByName(city.getName());
+            if (known != null) {
+                cities.put(city.getName(), known);
+            } else {
+                unknown.add(city);
+            }
+        }
+        if (unknown.isEmpty()) {
+            return cities;
+        }
+
+        this.nativeUpsertRepository.insertCitiesIfAbsent(unknown);
+        List<CityEntity> saved = this.cityRepository.findAllByNameIn(unknown.stream().map(CityEntity::getName).toList());
+        for (CityEntity city : saved) {
+            cities.put(city.getName(), city);
+        }
+        remember(saved);
+        return cities;
+    }
+
+    private Map<String, CityEntity> dictionary() {
+        Map<String, CityEntity> current = this.dictionary;
+        if (current != null) {
+            return current;
         }
 
-        return this.cityRepository.save(entity);
+        synchronized (this) {
+            if (this.dictionary == null) {
+                refreshDictionary();
+            }
+            return this.dictionary;
+        }
+    }
+
+    /**
+     * Ajoute des villes au dictionnaire, sur une copie publiée d'un bloc.
+     * Une clé déjà présente garde sa ville, comme au chargement.
+     */
+    private synchronized void remember(List<CityEntity> cities) {
+        Map<String, CityEntity> updated = new HashMap<>(dictionary());
+        for (CityEntity city : cities) {
+            if (city != null && city.getName() != null) {
+                updated.putIfAbsent(ScrapingParser.normalizeName(city.getName()), city);
+            }
+        }
+        this.dictionary = Map.copyOf(updated);
     }
 }
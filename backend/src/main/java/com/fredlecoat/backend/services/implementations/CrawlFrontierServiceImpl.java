@@ -0,0 +1,98 @@
+package com.fredlecoat.backend.services.implementations;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.fredlecoat.backend.entities.CrawlFrontierEntity;
+import com.fredlecoat.backend.repositories.CrawlFrontierRepository;
+import com.fredlecoat.backend.services.CrawlFrontierService;
+import com.fredlecoat.backend.services.scrapers.CrawlFrontier;
+
+@Service
+public class CrawlFrontierServiceImpl implements CrawlFrontierService {
+
+    @Autowired
+    private CrawlFrontierRepository crawlFrontierRepository;
+
+    @Override
+    public CrawlFrontier resume(String crawlType) {
+        CrawlFrontierEntity entity = crawlFrontierRepository.findByCrawlType(crawlType);
+
+        if (entity == null || entity.isFinished()) {
+            CrawlFrontier frontier = CrawlFrontier.fresh(crawlType);
+            save(frontier, false, Instant.now());
+            return frontier;
+        }
+
+        CrawlFrontier frontier = new CrawlFrontier(
+            crawlType,
+            true,
+            toBitSet(entity.getCompletedIds()),
+            toBitSet(entity.getFoundIds()),
+            toBitSet(entity.getFailedIds()),
+            toKeys(entity.getCompletedKeys())
+        );
+        System.out.println("REPRISE DU CRAWL " + crawlType + ": " + frontier.getCompletedCount()
+            + " elements deja traites, " + frontier.getFailedCount() + " en echec");
+        return frontier;
+    }
+
+    @Override
+    public void checkpointIfDue(CrawlFrontier frontier) {
+        if (frontier.isCheckpointDue()) {
+            checkpoint(frontier);
+        }
+    }
+
+    @Override
+    public void checkpoint(CrawlFrontier frontier) {
+        save(frontier, false, null);
+    }
+
+    @Override
+    public void finish(CrawlFrontier frontier) {
+        save(frontier, true, null);
+    }
+
+    private synchronized void save(CrawlFrontier frontier, boolean finished, Instant startedOn) {
+        try {
+            CrawlFrontierEntity entity = crawlFrontierRepository.findByCrawlType(frontier.getCrawlType());
+            if (entity == null) {
+                entity = new CrawlFrontierEntity();
+                entity.setCrawlType(frontier.getCrawlType());
+            }
+
+            CrawlFrontier.Snapshot snapshot = frontier.snapshot();
+            entity.setFinished(finished);
+            entity.setCompletedIds(snapshot.completedIds());
+            entity.setFoundIds(snapshot.foundIds());
+            entity.setFailedIds(snapshot.failedIds());
+            entity.setLeasedIds(snapshot.leasedIds());
+            entity.setCompletedKeys(snapshot.completedKeys());
+            if (startedOn != null) {
+                entity.setStartedOn(startedOn);
+            }
+            crawlFrontierRepository.save(entity);
+
+        } catch (Exception e) {
+            System.err.println("ERREUR SAUVEGARDE FRONTIERE " + frontier.getCrawlType() + ": " + e.getMessage());
+        }
+    }
+
+    private BitSet toBitSet(byte[] bytes) {
+        return bytes != null ? BitSet.valueOf(bytes) : new BitSet();
+    }
+
+    private Set<String> toKeys(String keys) {
+        if (keys == null || keys.isEmpty()) {
+            return Set.of();
+        }
+        return Arrays.stream(keys.split("\n")).collect(Collectors.toSet());
+    }
+}
@@ -243,7 +243,7 @@ public class CsvExportServiceImpl implements CsvExportService {
         System.out.println("Export parks_rides: " + filePath);
     }
 
-    private String escapeCsv(String value) {
+    static String escapeCsv(String value) {
         if (value == null) {
             return "";
         }
@@ -2,12 +2,23 @@ package com.fredlecoat.backend.services.implementations;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.fredlecoat.backend.configuration.ScrapingConfig;
 import com.fredlecoat.backend.entities.CityEntity;
 import com.fredlecoat.backend.entities.DashboardActivityEntity;
 import com.fredlecoat.backend.entities.ParkEntity;
@@ -15,11 +26,13 @@ import com.fredlecoat.backend.entities.PlayerEntity;
 import com.fredlecoat.backend.entities.RideEntity;
 import com.fredlecoat.backend.entities.dtos.ParsedNews;
 import com.fredlecoat.backend.repositories.DashboardActivityRepository;
+import com.fredlecoat.backend.repositories.NativeUpsertRepository;
 import com.fredlecoat.backend.services.CityService;
 import com.fredlecoat.backend.services.DashboardActivityService;
 import com.fredlecoat.backend.services.ParkService;
 import com.fredlecoat.backend.services.PlayerService;
 import com.fredlecoat.backend.services.RideService;
+import com.fredlecoat.backend.utils.ContentHash;
 import com.fredlecoat.backend.values.DashboardActivityCategory;
 import com.fredlecoat.backend.values.DashboardActivityType;
 
@@ -29,6 +42,9 @@ public class DashboardActivityServiceImpl implements DashboardActivityService {
     @Autowired
     private DashboardActivityRepository repository;
 
+    @Autowired
+    private NativeUpsertRepository nativeUpsertRepository;
+
     @Autowired
     private NewsParsingService parsingService;
 
@@ -46,61 +62,314 @@ public class DashboardActivityServiceImpl implements DashboardActivityService {
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy 'à' HH:mm");
 
+    // Contenus déjà stockés les plus récents, en ordre d'accès (LRU)
+    private final Map<Long, Boolean> recentHashes = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+            return size() > ScrapingConfig.DASHBOARD_RECENT_HASHES;
+        }
+    };
+
+    // Activité la plus récente déjà enregistrée par le relevé du journal
+    private volatile HighWaterMark highWaterMark;
+
+    /**
+     * Renseigne le hash des activités enregistrées avant son introduction, page par page,
+     * puis charge les hashes les plus récents dans le filtre.
+     * Les doublons déjà stockés gardent un hash nul, l'index unique les ignorant.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRecentHashes() {
+        try {
+            int scanned = 0;
+            int hashedCount = 0;
+            long lastId = 0;
+            List<DashboardActivityEntity> page;
+            while (!(page = this.repository.findAllByContentHashIsNullAndIdGreaterThanOrderByIdAsc(
+                    lastId, PageRequest.of(0, ScrapingConfig.DASHBOARD_BACKFILL_PAGE))).isEmpty()) {
+                Map<Long, DashboardActivityEntity> byHash = new LinkedHashMap<>();
+                for (DashboardActivityEntity activity : page) {
+                    byHash.putIfAbsent(ContentHash.of(activity.getPosted(), activity.getCategory(), activity.getText()), activity);
+                }
+                // Les pages précédentes sont déjà enregistrées: la requête voit aussi leurs hashes
+                byHash.keySet().removeAll(this.repository.findExistingContentHashes(byHash.keySet()));
+                byHash.forEach((hash, activity) -> activity.setContentHash(hash));
+                this.repository.saveAll(byHash.values());
+
+                scanned += page.size();
+                hashedCount += byHash.size();
+                lastId = page.get(page.size() - 1).getId();
+            }
+            if (scanned > 0) {
+                System.out.println("HASHES D'ACTIVITES RENSEIGNES: " + hashedCount + "/" + scanned);
+            }
+
+            List<Long> recent = this.repository.findRecentContentHashes(PageRequest.of(0, ScrapingConfig.DASHBOARD_RECENT_HASHES));
+            synchronized (recentHashes) {
+                // Du plus ancien au plus récent, pour que les plus récents soient évincés en dernier
+                for (int i = recent.size() - 1; i >= 0; i--) {
+                    recentHashes.put(recent.get(i), Boolean.TRUE);
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("ERREUR CHARGEMENT DES HASHES D'ACTIVITES: " + e.getMessage());
+        }
+    }
+
     @Override
     @Transactional
     public DashboardActivityEntity create(Map<String, Object> activityData) {
-        try {
-            DashboardActivityCategory category = DashboardActivityCategory.PARK;
+        List<DashboardActivityEntity> created = createAll(List.of(activityData));
+        return created.isEmpty() ? null : created.get(0);
+    }
 
-            String dateText = activityData.get("date").toString();
-            LocalDateTime date = parseActivityDate(dateText);
+    /**
+     * Enregistre les activités d'un relevé en une seule insertion.
+     * Les activités déjà connues du filtre sont ignorées sans requête, les autres
+     * sont dédoublonnées par l'index unique sur le hash de contenu.
+     * Retourne les activités réellement insérées.
+     */
+    @Override
+    @Transactional
+    public List<DashboardActivityEntity> createAll(List<Map<String, Object>> activitiesData) {
+        return store(activitiesData).inserted();
+    }
 
-            String text = activityData.get("text").toString();
+    /**
+     * Corps de createAll, qui rapporte aussi les hashes des activités en échec.
+     * Une activité illisible (date ou texte absent) n'a pas de hash et n'y figure pas.
+     */
+    private Creation store(List<Map<String, Object>> activitiesData) {
+        DashboardActivityCategory category = DashboardActivityCategory.PARK;
+        Map<Long, DashboardActivityEntity> pending = new LinkedHashMap<>();
+        Set<Long> failedHashes = new HashSet<>();
 
-            System.out.println("Parsing activity: " + text.substring(0, Math.min(50, text.length())));
+        for (Map<String, Object> activityData : activitiesData) {
+            Long hash = null;
+            try {
+                String dateText = activityData.get("date").toString();
+                LocalDateTime date = parseActivityDate(dateText);
 
-            ParsedNews parsedNews = parsingService.parse(text);
-            DashboardActivityType type = parsedNews.type();
+                String text = activityData.get("text").toString();
 
-            var existingActivity = this.repository.findByPostedAndTypeAndCategoryAndText(date, type, category, text);
-            if (existingActivity.isPresent()) {
-                System.out.println("Activity already exists: " + text.substring(0, Math.min(50, text.length())));
-                return existingActivity.get();
+                hash = ContentHash.of(date, category, text);
+                if (pending.containsKey(hash) || isKnown(hash)) {
+                    continue;
+                }
+
+                System.out.println("Parsing activity: " + text.substring(0, Math.min(50, text.length())));
+
+                ParsedNews parsedNews = parsingService.parse(text);
+                DashboardActivityType type = parsedNews.type();
+
+                PlayerEntity player = this.playerService.findByName(parsedNews.playerName());
+                CityEntity city = this.cityService.findByName(parsedNews.cityName());
+                ParkEntity actorPark = this.parkService.findByName(parsedNews.actorParkName());
+                ParkEntity victimPark = this.parkService.findByName(parsedNews.victimParkName());
+                RideEntity ride = this.rideService.findByName(parsedNews.rideName());
+
+                Long amount = parsedNews.amount() != null ? parsedNews.amount().longValue() : null;
+
+                DashboardActivityEntity newActivity = new DashboardActivityEntity(
+                    category,
+                    date,
+                    type,
+                    text,
+                    player,
+                    city,
+                    actorPark,
+                    victimPark,
+                    ride,
+                    amount
+                );
+                pending.put(newActivity.getContentHash(), newActivity);
+
+            } catch (Exception e) {
+                if (hash != null) {
+                    failedHashes.add(hash);
+                }
+                System.err.println("Error creating dashboard activity: " + e.getMessage());
+                e.printStackTrace();
             }
+        }
 
-            PlayerEntity player = this.playerService.findByName(parsedNews.playerName());
-            CityEntity city = this.cityService.findByName(parsedNews.cityName());
-            ParkEntity actorPark = this.parkService.findByName(parsedNews.actorParkName());
-            ParkEntity victimPark = this.parkService.findByName(parsedNews.victimParkName());
-            RideEntity ride = this.rideService.findByName(parsedNews.rideName());
-
-            Long amount = parsedNews.amount() != null ? parsedNews.amount().longValue() : null;
-
-            DashboardActivityEntity newActivity = new DashboardActivityEntity(
-                category,
-                date,
-                type,
-                text,
-                player,
-                city,
-                actorPark,
-                victimPark,
-                ride,
-                amount
-            );
-
-            DashboardActivityEntity entity = this.repository.save(newActivity);
-            System.out.println("Activity saved: " + entity.toString());
-            return entity;
+        if (pending.isEmpty()) {
+            return new Creation(List.of(), failedHashes);
+        }
+
+        try {
+            List<DashboardActivityEntity> inserted = this.nativeUpsertRepository.insertActivitiesIfAbsent(new ArrayList<>(pending.values()));
+            // Insérées ou déjà présentes (conflit sur le hash): les activités en échec n'y figurent pas
+            Set<Long> stored = new HashSet<>(pending.keySet());
+            afterCommit(() -> remember(stored));
+            System.out.println("Activities saved: " + inserted.size() + "/" + pending.size());
+            return new Creation(inserted, failedHashes);
 
         } catch (Exception e) {
-            System.err.println("Error creating dashboard activity: " + e.getMessage());
+            System.err.println("Error creating dashboard activities: " + e.getMessage());
             e.printStackTrace();
-            throw new RuntimeException("Failed to create dashboard activity", e);
+            throw new RuntimeException("Failed to create dashboard activities", e);
+        }
+    }
+
+    /**
+     * Enregistre les nouvelles activités d'un relevé du journal, du plus récent au plus ancien.
+     * Le parcours s'arrête à la première activité déjà vue (même hash que la marque haute,
+     * ou publiée avant elle) : seul le préfixe nouveau est analysé.
+     * Si la marque n'apparaît pas dans le relevé, des activités ont pu être manquées
+     * et tout le relevé passe par le dédoublonnage complet.
+     */
+    @Override
+    @Transactional
+    public List<DashboardActivityEntity> createNew(List<Map<String, Object>> journal) {
+        HighWaterMark mark = currentHighWaterMark();
+        List<Map<String, Object>> fresh = new ArrayList<>();
+        boolean reachedMark = false;
+        LocalDateTime previous = null;
+
+        for (Map<String, Object> activityData : journal) {
+            HighWaterMark key = keyOf(activityData);
+            if (key == null) {
+                // Illisible : createAll le signalera
+                fresh.add(activityData);
+                continue;
+            }
+            if (previous != null && key.posted().isAfter(previous)) {
+                // Journal hors d'ordre : on ne peut pas s'arrêter au premier connu
+                System.out.println("JOURNAL HORS D'ORDRE, DEDOUBLONNAGE COMPLET");
+                return commit(journal, false);
+            }
+            previous = key.posted();
+
+            if (mark != null && (key.hash() == mark.hash() || key.posted().isBefore(mark.posted()))) {
+                reachedMark = true;
+                break;
+            }
+            fresh.add(activityData);
+        }
+
+        if (mark != null && !reachedMark && !journal.isEmpty()) {
+            System.out.println("MARQUE HAUTE ABSENTE DU JOURNAL, DES ACTIVITES ONT PU ETRE MANQUEES");
+            return commit(journal, true);
+        }
+        if (fresh.isEmpty()) {
+            return List.of();
+        }
+        return commit(fresh, true);
+    }
+
+    /**
+     * Enregistre les activités, puis avance la marque haute une fois la transaction validée.
+     * La marque ne dépasse jamais une activité en échec, pour que le prochain relevé la retente :
+     * dans un relevé ordonné elle s'arrête sur la plus récente des activités plus anciennes
+     * que le premier échec, dans un relevé hors d'ordre elle n'avance pas.
+     */
+    private List<DashboardActivityEntity> commit(List<Map<String, Object>> activitiesData, boolean ordered) {
+        Creation creation = store(activitiesData);
+        HighWaterMark newest = ordered
+            ? newestBeforeFailures(activitiesData, creation.failedHashes())
+            : newestWithoutFailures(activitiesData, creation.failedHashes());
+        if (newest != null) {
+            afterCommit(() -> advanceHighWaterMark(newest));
+        }
+        return creation.inserted();
+    }
+
+    private synchronized void advanceHighWaterMark(HighWaterMark newest) {
+        HighWaterMark mark = this.highWaterMark;
+        if (mark == null || !newest.posted().isBefore(mark.posted())) {
+            this.highWaterMark = newest;
+        }
+    }
+
+    private HighWaterMark currentHighWaterMark() {
+        HighWaterMark mark = this.highWaterMark;
+        if (mark == null) {
+            mark = this.repository.findFirstByContentHashIsNotNullOrderByPostedDescIdDesc()
+                .map(activity -> new HighWaterMark(activity.getPosted(), activity.getContentHash()))
+                .orElse(null);
+            this.highWaterMark = mark;
+        }
+        return mark;
+    }
+
+    /**
+     * Première activité lisible et réussie après le dernier échec d'un relevé ordonné,
+     * du plus récent au plus ancien; null si la plus ancienne est en échec.
+     */
+    private HighWaterMark newestBeforeFailures(List<Map<String, Object>> journal, Set<Long> failedHashes) {
+        HighWaterMark newest = null;
+        for (Map<String, Object> activityData : journal) {
+            HighWaterMark key = keyOf(activityData);
+            if (key == null || failedHashes.contains(key.hash())) {
+                newest = null;
+            } else if (newest == null) {
+                newest = key;
+            }
+        }
+        return newest;
+    }
+
+    private HighWaterMark newestWithoutFailures(List<Map<String, Object>> journal, Set<Long> failedHashes) {
+        HighWaterMark newest = null;
+        for (Map<String, Object> activityData : journal) {
+            HighWaterMark key = keyOf(activityData);
+            if (key == null || failedHashes.contains(key.hash())) {
+                return null;
+            }
+            if (newest == null || key.posted().isAfter(newest.posted())) {
+                newest = key;
+            }
+        }
+        return newest;
+    }
+
+    private HighWaterMark keyOf(Map<String, Object> activityData) {
+        try {
+            LocalDateTime date = parseActivityDate(activityData.get("date").toString());
+            String text = activityData.get("text").toString();
+            return new HighWaterMark(date, ContentHash.of(date, DashboardActivityCategory.PARK, text));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Exécute l'action après la validation de la transaction courante, ou tout de suite hors transaction.
+     * Un rollback n'ajoute ainsi rien au filtre.
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void remember(Set<Long> hashes) {
+        synchronized (recentHashes) {
+            for (Long hash : hashes) {
+                recentHashes.put(hash, Boolean.TRUE);
+            }
+        }
+    }
+
+    private boolean isKnown(long hash) {
+        synchronized (recentHashes) {
+            return recentHashes.get(hash) != null;
         }
     }
 
     public LocalDateTime parseActivityDate(String dateString) {
         return LocalDateTime.parse(dateString, DATE_FORMATTER);
     }
+
+    private record HighWaterMark(LocalDateTime posted, long hash) {}
+
+    private record Creation(List<DashboardActivityEntity> inserted, Set<Long> failedHashes) {}
 }
@@ -1,26 +1,56 @@
 package com.fredlecoat.backend.services.implementations;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
 
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import com.fredlecoat.backend.entities.dtos.ParsedNews;
 import com.fredlecoat.backend.parsers.NewsParser;
 import com.fredlecoat.backend.values.DashboardActivityType;
 
+/**
+ * Classifies dashboard news and parses them.
+ *
+ * Texts are dispatched on the literal anchors of the parsers: only the parser whose
+ * anchor the text contains runs its pattern, once, and builds the news from that match.
+ * Texts without any anchor are never matched against a pattern.
+ */
 @Service
 public class NewsParsingService {
 
-    @Autowired
-    private List<NewsParser> parsers;
+    private final List<Anchor> anchors = new ArrayList<>();
+
+    public NewsParsingService(List<NewsParser> parsers) {
+        for (NewsParser parser : parsers) {
+            for (String anchor : parser.anchors()) {
+                if (anchor == null || anchor.isBlank()) {
+                    throw new IllegalStateException("Blank anchor for " + parser.getClass().getSimpleName());
+                }
+                anchors.add(new Anchor(anchor.toLowerCase(Locale.ROOT), parser));
+            }
+        }
+    }
 
     public ParsedNews parse(String text) {
-        return parsers.stream()
-            .filter(p -> p.isMatching(text))
-            .findFirst()
-            .map(parser -> parser.parse(text))
-            .orElseGet(() -> createDefaultParsedNews(text));
+        String lowered = text.toLowerCase(Locale.ROOT);
+
+        // Usually a single anchor is found; a name containing another anchor only adds candidates
+        List<NewsParser> tried = new ArrayList<>(1);
+        for (Anchor anchor : anchors) {
+            if (tried.contains(anchor.parser()) || !lowered.contains(anchor.literal())) {
+                continue;
+            }
+            tried.add(anchor.parser());
+
+            Matcher matcher = anchor.parser().pattern().matcher(text);
+            if (matcher.matches()) {
+                return anchor.parser().fromMatch(matcher);
+            }
+        }
+        return createDefaultParsedNews(text);
     }
 
     /**
@@ -30,4 +60,6 @@ public class NewsParsingService {
         System.out.println("No matching parser found for text: " + text);
         return new ParsedNews(null, null, null, null, null, null, DashboardActivityType.NONE);
     }
+
+    private record Anchor(String literal, NewsParser parser) {}
 }
@@ -0,0 +1,179 @@
+package com.fredlecoat.backend.services.implementations;
+
+import java.util.BitSet;
+import java.util.function.IntPredicate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.fredlecoat.backend.configuration.ScrapingConfig;
+import com.fredlecoat.backend.entities.ParkIdIndexEntity;
+import com.fredlecoat.backend.repositories.ParkIdIndexRepository;
+import com.fredlecoat.backend.repositories.ParkRepository;
+import com.fredlecoat.backend.services.ParkIdIndexService;
+
+/**
+ * Park id index held as two bitmaps indexed by external id.
+ *
+ * Live ids are rebuilt from the park table when a crawl is planned, dead ids
+ * are persisted in park_id_index. An id recorded live is removed from the dead
+ * set, so a park created in a former gap is picked up by the re-probe and then
+ * crawled like any other.
+ */
+@Service
+public class ParkIdIndexServiceImpl implements ParkIdIndexService {
+
+    @Autowired
+    private ParkRepository parkRepository;
+
+    @Autowired
+    private ParkIdIndexRepository parkIdIndexRepository;
+
+    private final BitSet live = new BitSet();
+    private final BitSet dead = new BitSet();
+    private int reprobeCursor = 0;
+    private boolean loaded = false;
+
+    @Override
+    public synchronized boolean hasData() {
+        ensureLoaded();
+        return !live.isEmpty();
+    }
+
+    @Override
+    public synchronized int getHighestLiveId() {
+        ensureLoaded();
+        return live.length() - 1;
+    }
+
+    @Override
+    public synchronized int[] planCrawl(int startId, int endId) {
+        ensureLoaded();
+        reloadLive();
+
+        BitSet planned = new BitSet(endId + 1);
+        planned.set(startId, endId + 1);
+        planned.andNot(dead);
+
+        int budget = Math.min(ScrapingConfig.PARK_INDEX_REPROBE_BATCH, dead.get(startId, endId + 1).cardinality());
+        int reprobed = 0;
+        int id = dead.nextSetBit(Math.max(startId, reprobeCursor));
+        while (reprobed < budget) {
+            if (id < 0 || id > endId) {
+                if (reprobeCursor <= startId) {
+                    break;
+                }
+                // Wrap around to the start of the range
+                reprobeCursor = startId;
+                id = dead.nextSetBit(startId);
+                continue;
+            }
+            planned.set(id);
+            reprobed++;
+            reprobeCursor = id + 1;
+            id = dead.nextSetBit(id + 1);
+        }
+
+        System.out.println("PLAN DE CRAWL: " + planned.cardinality() + " ids sur " + (endId - startId + 1)
+            + " (" + live.cardinality() + " vivants, " + dead.cardinality() + " morts, " + reprobed + " re-sondes)");
+        return planned.stream().toArray();
+    }
+
+    @Override
+    public int findHighestId(IntPredicate probe) {
+        int window = ScrapingConfig.PARK_INDEX_PROBE_WINDOW;
+        int low = Math.max(0, getHighestLiveId());
+        int step = window;
+
+        // Gallop: double the step while parks keep showing up past the highest known one
+        int found;
+        while ((found = probeWindow(low + step, window, probe)) > 0) {
+            low = found;
+            step *= 2;
+        }
+        int high = low + step;
+
+        // Binary search between the last window with a park and the first empty one
+        while (high - low > window) {
+            int middle = low + (high - low) / 2;
+            found = probeWindow(middle, window, probe);
+            if (found > 0) {
+                low = found;
+            } else {
+                high = middle;
+            }
+        }
+
+        // The windows above skip the ids right after a park: the range ends after a full window of misses
+        while ((found = probeWindow(low + 1, window, probe)) > 0) {
+            low = found;
+        }
+
+        System.out.println("ID DE PARC MAXIMUM: " + low);
+        return low;
+    }
+
+    @Override
+    public synchronized void recordLive(int externalId) {
+        live.set(externalId);
+        dead.clear(externalId);
+    }
+
+    @Override
+    public synchronized void recordDead(int externalId) {
+        if (!live.get(externalId)) {
+            dead.set(externalId);
+        }
+    }
+
+    @Override
+    public void checkpoint() {
+        ParkIdIndexEntity entity = parkIdIndexRepository.findFirstByOrderByIdAsc();
+        if (entity == null) {
+            entity = new ParkIdIndexEntity();
+        }
+
+        synchronized (this) {
+            entity.setDeadIds(dead.toByteArray());
+            entity.setReprobeCursor(reprobeCursor);
+            entity.setHighestProbedId(Math.max(live.length(), dead.length()) - 1);
+        }
+        parkIdIndexRepository.save(entity);
+    }
+
+    /**
+     * Returns the first existing id in [from, from + window), or -1 if there is none.
+     */
+    private int probeWindow(int from, int window, IntPredicate probe) {
+        for (int id = from; id < from + window; id++) {
+            if (probe.test(id)) {
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+
+        ParkIdIndexEntity entity = parkIdIndexRepository.findFirstByOrderByIdAsc();
+        if (entity != null && entity.getDeadIds() != null) {
+            dead.or(BitSet.valueOf(entity.getDeadIds()));
+            reprobeCursor = entity.getReprobeCursor();
+        }
+        loaded = true;
+        reloadLive();
+    }
+
+    private void reloadLive() {
+        live.clear();
+        for (Integer externalId : parkRepository.findAllExternalIds()) {
+            if (externalId != null && externalId >= 0) {
+                live.set(externalId);
+            }
+        }
+        dead.andNot(live);
+    }
+}
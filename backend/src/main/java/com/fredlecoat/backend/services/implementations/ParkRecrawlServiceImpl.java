@@ -0,0 +1,103 @@
+package com.fredlecoat.backend.services.implementations;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.fredlecoat.backend.configuration.RecrawlConfig;
+import com.fredlecoat.backend.entities.ParkChangeStatsEntity;
+import com.fredlecoat.backend.entities.dtos.ScrapeJobStatus;
+import com.fredlecoat.backend.repositories.ParkChangeStatsRepository;
+import com.fredlecoat.backend.services.ParkRecrawlService;
+import com.fredlecoat.backend.services.ScrapeJobService;
+
+/**
+ * Change-rate-aware re-scraping of parks.
+ *
+ * Each park is modelled as changing following a Poisson process. Its rate is
+ * estimated from its visit history with the bias-reduced estimator for
+ * regularly spaced visits (Cho and Garcia-Molina):
+ * rate = -ln((n - x + 0.5) / (n + 0.5)) / meanInterval, with n compared visits
+ * and x changes seen. The probability that a park changed since its last visit
+ * t seconds ago is then 1 - exp(-rate * t), and the budget goes to the parks
+ * with the highest probability.
+ */
+@Service
+public class ParkRecrawlServiceImpl implements ParkRecrawlService {
+
+    private static final double SECONDS_PER_DAY = 86400.0;
+
+    @Autowired
+    private ParkChangeStatsRepository parkChangeStatsRepository;
+
+    @Autowired
+    private ScrapeJobService scrapeJobService;
+
+    @Autowired
+    private RecrawlConfig recrawlConfig;
+
+    @Override
+    public List<Integer> selectParks(int budget) {
+        Instant now = Instant.now();
+        List<ScoredPark> candidates = new ArrayList<>();
+
+        for (ParkChangeStatsEntity stats : parkChangeStatsRepository.findAll()) {
+            if (stats.getLastVisitedOn() == null) {
+                continue;
+            }
+            double probability = changeProbability(stats, now);
+            if (probability >= recrawlConfig.getMinChangeProbability()) {
+                candidates.add(new ScoredPark(stats.getExternalId(), probability));
+            }
+        }
+
+        candidates.sort(Comparator.comparingDouble(ScoredPark::probability).reversed());
+
+        List<Integer> selected = new ArrayList<>();
+        for (int i = 0; i < Math.min(budget, candidates.size()); i++) {
+            selected.add(candidates.get(i).externalId());
+        }
+        return selected;
+    }
+
+    @Override
+    public int recrawl() {
+        if (!recrawlConfig.isEnabled()) {
+            return -1;
+        }
+
+        List<Integer> parkIds = selectParks(recrawlConfig.getPagesPerHour());
+        if (parkIds.isEmpty()) {
+            System.out.println("AUCUN PARC A RE-SCRAPER");
+            return 0;
+        }
+
+        int[] ids = parkIds.stream().mapToInt(Integer::intValue).toArray();
+        // A park job, so that it excludes and shows up like a crawl submitted through the API
+        ScrapeJobStatus status = scrapeJobService.recrawlParks(ids, recrawlConfig.getEngine());
+        return status != null ? (int) status.pagesDone() : -1;
+    }
+
+    private double changeProbability(ParkChangeStatsEntity stats, Instant now) {
+        double elapsedSeconds = Math.max(0, Duration.between(stats.getLastVisitedOn(), now).toSeconds());
+        return 1 - Math.exp(-changesPerSecond(stats) * elapsedSeconds);
+    }
+
+    private double changesPerSecond(ParkChangeStatsEntity stats) {
+        int visits = stats.getComparedVisits();
+        if (visits < 2 || stats.getObservedSeconds() <= 0) {
+            return recrawlConfig.getDefaultChangesPerDay() / SECONDS_PER_DAY;
+        }
+
+        double meanInterval = (double) stats.getObservedSeconds() / visits;
+        double unchanged = (visits - stats.getChanges() + 0.5) / (visits + 0.5);
+        return -Math.log(unchanged) / meanInterval;
+    }
+
+    private record ScoredPark(Integer externalId, double probability) {}
+}
@@ -1,13 +1,29 @@
 package com.fredlecoat.backend.services.implementations;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.fredlecoat.backend.entities.CityEntity;
+import com.fredlecoat.backend.entities.ParkChangeStatsEntity;
 import com.fredlecoat.backend.entities.ParkEntity;
 import com.fredlecoat.backend.entities.PlayerEntity;
+import com.fredlecoat.backend.entities.RideEntity;
 import com.fredlecoat.backend.entities.dtos.ParsedNews;
+import com.fredlecoat.backend.entities.dtos.ScrapedPark;
+import com.fredlecoat.backend.repositories.NativeUpsertRepository;
+import com.fredlecoat.backend.repositories.ParkChangeStatsRepository;
 import com.fredlecoat.backend.repositories.ParkRepository;
 import com.fredlecoat.backend.services.ParkService;
 import com.fredlecoat.backend.services.RideService;
@@ -22,6 +38,12 @@ public class ParkServiceImpl implements ParkService {
     @Autowired
     private RideService rideService;
 
+    @Autowired
+    private ParkChangeStatsRepository parkChangeStatsRepository;
+
+    @Autowired
+    private NativeUpsertRepository nativeUpsertRepository;
+
     @Override
     @Transactional
     public ParkEntity save(ParkEntity entity) {
@@ -29,22 +51,165 @@ public class ParkServiceImpl implements ParkService {
             return null;
         }
 
-        // Si l'entité n'a pas d'ID, chercher par externalId ou par nom
+        // Nouveau parc scrapé: upsert natif sur external_id
+        if (entity.getId() == null && entity.getExternalId() != null) {
+            List<ParkEntity> saved = saveAll(List.of(new ScrapedPark(entity, null)));
+            return saved.isEmpty() ? null : saved.get(0);
+        }
+
+        // Si l'entité n'a pas d'ID, chercher par nom
         if (entity.getId() == null) {
-            ParkEntity existing = null;
-            if (entity.getExternalId() != null) {
-                existing = this.parkRepository.findByExternalId(entity.getExternalId());
-            }
-            if (existing == null) {
-                existing = this.parkRepository.findByName(entity.getName());
-            }
+            ParkEntity existing = this.parkRepository.findByName(entity.getName());
             if (existing != null) {
                 mergeIntoExisting(existing, entity);
-                return this.parkRepository.save(existing);
+                ParkEntity saved = this.parkRepository.save(existing);
+                recordVisit(saved);
+                return saved;
+            }
+        }
+
+        ParkEntity saved = this.parkRepository.save(entity);
+        recordVisit(saved);
+        return saved;
+    }
+
+    /**
+     * Enregistre un lot de parcs scrapés par upsert natif sur external_id:
+     * une requête pour les parcs, une synchronisation des attractions pour tout
+     * le lot, et l'historique de changement lu en une requête.
+     */
+    @Override
+    @Transactional
+    public List<ParkEntity> saveAll(List<ScrapedPark> parks) {
+        // Un même parc deux fois dans un upsert ferait échouer la requête: le dernier l'emporte
+        Map<Integer, ScrapedPark> byExternalId = new LinkedHashMap<>();
+        for (ScrapedPark scraped : parks) {
+            if (scraped.park() != null && scraped.park().getName() != null && scraped.park().getExternalId() != null) {
+                byExternalId.put(scraped.park().getExternalId(), scraped);
+            }
+        }
+        if (byExternalId.isEmpty()) {
+            return List.of();
+        }
+
+        List<ParkEntity> saved = this.nativeUpsertRepository.upsertParks(
+            byExternalId.values().stream().map(ScrapedPark::park).toList()
+        );
+
+        Map<Long, List<String>> imageUrlsByParkId = new HashMap<>();
+        for (ParkEntity park : saved) {
+            List<String> imageUrls = byExternalId.get(park.getExternalId()).rideImageUrls();
+            if (imageUrls != null) {
+                imageUrlsByParkId.put(park.getId(), imageUrls);
+            }
+        }
+        syncRides(imageUrlsByParkId);
+
+        recordVisits(saved);
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public void syncRidesByImageUrl(Long parkId, List<String> imageUrls) {
+        if (parkId == null || imageUrls == null) {
+            return;
+        }
+        syncRides(Map.of(parkId, imageUrls));
+    }
+
+    /**
+     * Remplace les attractions de chaque parc par celles des images données:
+     * les images sont résolues en une requête IN, les liens actuels lus en une
+     * requête, et seule la différence est écrite, en batch. Les images inconnues
+     * du catalogue sont ignorées.
+     */
+    private void syncRides(Map<Long, List<String>> imageUrlsByParkId) {
+        if (imageUrlsByParkId.isEmpty()) {
+            return;
+        }
+
+        Set<String> imageUrls = new HashSet<>();
+        imageUrlsByParkId.values().forEach(imageUrls::addAll);
+        Map<String, RideEntity> rides = this.rideService.findAllByImageUrls(imageUrls);
+        Map<Long, Set<Long>> currentRideIds = this.nativeUpsertRepository.findRideIdsByParkIds(
+            new ArrayList<>(imageUrlsByParkId.keySet())
+        );
+
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        imageUrlsByParkId.forEach((parkId, parkImageUrls) -> {
+            Set<Long> wanted = new HashSet<>();
+            for (String imageUrl : parkImageUrls) {
+                RideEntity ride = rides.get(imageUrl);
+                if (ride != null) {
+                    wanted.add(ride.getId());
+                }
             }
+
+            Set<Long> current = currentRideIds.getOrDefault(parkId, Set.of());
+            for (Long rideId : wanted) {
+                if (!current.contains(rideId)) {
+                    inserts.add(new Object[] {parkId, rideId});
+                }
+            }
+            for (Long rideId : current) {
+                if (!wanted.contains(rideId)) {
+                    deletes.add(new Object[] {parkId, rideId});
+                }
+            }
+        });
+
+        this.nativeUpsertRepository.updateParkRides(inserts, deletes);
+    }
+
+    private void recordVisits(List<ParkEntity> parks) {
+        Map<Integer, ParkChangeStatsEntity> statsByExternalId = new HashMap<>();
+        List<Integer> externalIds = parks.stream().map(ParkEntity::getExternalId).filter(Objects::nonNull).toList();
+        for (ParkChangeStatsEntity stats : this.parkChangeStatsRepository.findAllByExternalIdIn(externalIds)) {
+            statsByExternalId.put(stats.getExternalId(), stats);
+        }
+
+        Instant now = Instant.now();
+        List<ParkChangeStatsEntity> toSave = new ArrayList<>();
+        for (ParkEntity park : parks) {
+            if (park.getExternalId() != null) {
+                toSave.add(updateVisit(park, statsByExternalId.get(park.getExternalId()), now));
+            }
+        }
+        this.parkChangeStatsRepository.saveAll(toSave);
+    }
+
+    /**
+     * Met à jour l'historique de changement du parc, à partir duquel le re-scraping
+     * estime sa fréquence de changement.
+     */
+    private void recordVisit(ParkEntity park) {
+        if (park.getExternalId() == null) {
+            return;
         }
 
-        return this.parkRepository.save(entity);
+        ParkChangeStatsEntity stats = this.parkChangeStatsRepository.findByExternalId(park.getExternalId());
+        this.parkChangeStatsRepository.save(updateVisit(park, stats, Instant.now()));
+    }
+
+    private ParkChangeStatsEntity updateVisit(ParkEntity park, ParkChangeStatsEntity stats, Instant now) {
+        long fingerprint = Objects.hash(
+            park.getCapital(), park.getSocialCapital(), park.getYesterdayVisitors(), park.getUsedSurface(), park.getNote()
+        );
+        if (stats == null) {
+            return new ParkChangeStatsEntity(park.getExternalId(), fingerprint, now);
+        }
+
+        stats.setComparedVisits(stats.getComparedVisits() + 1);
+        stats.setObservedSeconds(stats.getObservedSeconds() + Duration.between(stats.getLastVisitedOn(), now).toSeconds());
+        if (stats.getLastFingerprint() != fingerprint) {
+            stats.setChanges(stats.getChanges() + 1);
+            stats.setLastChangedOn(now);
+            stats.setLastFingerprint(fingerprint);
+        }
+        stats.setLastVisitedOn(now);
+        return stats;
     }
 
     /**
@@ -123,29 +288,14 @@ public class ParkServiceImpl implements ParkService {
             return null;
         }
 
-        park.addRide(this.rideService.findByName(rideName));
-        return this.parkRepository.save(park);
-    }
-
-    @Override
-    @Transactional
-    public ParkEntity addRideByImageUrl(ParkEntity park, String imageUrl) {
-        if (park == null || park.getId() == null || imageUrl == null) {
-            return null;
-        }
-
-        // Reload park within this transaction to avoid lazy loading issues
-        ParkEntity managedPark = this.parkRepository.findById(park.getId()).orElse(null);
-        if (managedPark == null) {
-            return null;
-        }
-
-        var ride = this.rideService.findByImageUrl(imageUrl);
-        if (ride != null) {
-            managedPark.addRide(ride);
-            return this.parkRepository.save(managedPark);
+        // L'attraction vient du catalogue en mémoire (détachée): RideEntity compare par identité, le lien
+        // est donc inséré directement dans la table de jointure, sans doublon s'il existe déjà
+        RideEntity ride = this.rideService.findByName(rideName);
+        if (ride == null || park.getId() == null || ride.getId() == null) {
+            return park;
         }
-        return managedPark;
+        this.nativeUpsertRepository.updateParkRides(List.<Object[]>of(new Object[]{park.getId(), ride.getId()}), List.of());
+        return park;
     }
 
     @Override
@@ -1,5 +1,15 @@
 package com.fredlecoat.backend.services.implementations;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import com.fredlecoat.backend.entities.PlayerDataEntity;
@@ -7,28 +17,47 @@ import com.fredlecoat.backend.entities.PlayerEntity;
 import com.fredlecoat.backend.entities.dtos.MainPlayerRequest;
 import com.fredlecoat.backend.entities.mappers.PlayerDataMapper;
 import com.fredlecoat.backend.entities.mappers.PlayerMapper;
+import com.fredlecoat.backend.repositories.NativeUpsertRepository;
 import com.fredlecoat.backend.repositories.PlayerDataRepository;
 import com.fredlecoat.backend.repositories.PlayerRepository;
 import com.fredlecoat.backend.services.PlayerService;
 
+/**
+ * Les joueurs ne sont jamais supprimés: leurs ids sont gardés en cache par nom,
+ * chargés en une requête au premier appel. Les créations d'un même nom sont
+ * sérialisées par un verrou choisi parmi LOCK_STRIPES selon le nom, et une
+ * violation de la contrainte unique (autre instance) se résout en relisant le joueur.
+ */
 @Service
 public class PlayerServiceImpl implements PlayerService {
 
+    private static final int LOCK_STRIPES = 64;
+
     private final PlayerRepository playerRepository;
     private final PlayerDataRepository playerDataRepository;
     private final PlayerMapper playerMapper;
     private final PlayerDataMapper playerDataMapper;
+    private final NativeUpsertRepository nativeUpsertRepository;
+
+    private final Map<String, Long> idsByName = new ConcurrentHashMap<>();
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    private volatile boolean cacheLoaded = false;
 
     public PlayerServiceImpl(
         PlayerRepository playerRepository, 
         PlayerDataRepository playerDataRepository,
         PlayerMapper playerMapper, 
-        PlayerDataMapper playerDataMapper
+        PlayerDataMapper playerDataMapper,
+        NativeUpsertRepository nativeUpsertRepository
     ) {
         this.playerRepository = playerRepository;
         this.playerDataRepository = playerDataRepository;
         this.playerMapper = playerMapper;
         this.playerDataMapper = playerDataMapper;
+        this.nativeUpsertRepository = nativeUpsertRepository;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            this.locks[i] = new Object();
+        }
     }
 
     @Override
@@ -41,6 +70,7 @@ public class PlayerServiceImpl implements PlayerService {
         PlayerDataEntity playerDataEntity = this.playerDataMapper.toEntity(request);
 
         entity = this.playerRepository.save(entity);
+        this.idsByName.put(entity.getName(), entity.getId());
         playerDataEntity.setPlayer(entity);
         this.playerDataRepository.save(playerDataEntity);
         return entity;
@@ -51,7 +81,17 @@ public class PlayerServiceImpl implements PlayerService {
         if (name == null) {
             return null;
         }
-        return this.playerRepository.findByName(name);
+
+        Long id = cachedId(name);
+        if (id != null) {
+            return reference(id, name);
+        }
+
+        PlayerEntity player = this.playerRepository.findByName(name);
+        if (player != null) {
+            this.idsByName.put(name, player.getId());
+        }
+        return player;
     }
 
     @Override
@@ -59,10 +99,107 @@ public class PlayerServiceImpl implements PlayerService {
         if (name == null) {
             return null;
         }
-        PlayerEntity player = this.playerRepository.findByName(name);
-        if (player != null) {
+
+        Long id = cachedId(name);
+        if (id != null) {
+            return reference(id, name);
+        }
+
+        synchronized (lockFor(name)) {
+            id = this.idsByName.get(name);
+            if (id != null) {
+                return reference(id, name);
+            }
+
+            PlayerEntity player = this.playerRepository.findByName(name);
+            if (player == null) {
+                try {
+                    player = this.playerRepository.saveAndFlush(new PlayerEntity(name));
+                } catch (DataIntegrityViolationException e) {
+                    // Créé entre-temps par une autre instance
+                    player = this.playerRepository.findByName(name);
+                }
+            }
+            if (player != null) {
+                this.idsByName.put(name, player.getId());
+            }
             return player;
         }
-        return this.playerRepository.save(new PlayerEntity(name));
+    }
+
+    /**
+     * Résout tous les noms avec au plus deux requêtes et une insertion
+     * (ON CONFLICT DO NOTHING) pour ceux qui ne sont pas en cache.
+     */
+    @Override
+    public Map<String, PlayerEntity> resolveOrCreate(Collection<String> names) {
+        Map<String, PlayerEntity> players = new HashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        for (String name : names) {
+            if (name == null || name.isEmpty() || players.containsKey(name)) {
+                continue;
+            }
+            Long id = cachedId(name);
+            if (id != null) {
+                players.put(name, reference(id, name));
+            } else {
+                missing.add(name);
+            }
+        }
+        if (missing.isEmpty()) {
+            return players;
+        }
+
+        List<String> toCreate = new ArrayList<>(missing);
+        for (PlayerEntity player : this.playerRepository.findAllByNameIn(missing)) {
+            this.idsByName.put(player.getName(), player.getId());
+            toCreate.remove(player.getName());
+        }
+        if (!toCreate.isEmpty()) {
+            this.nativeUpsertRepository.insertPlayersIfAbsent(toCreate);
+            for (PlayerEntity player : this.playerRepository.findAllByNameIn(toCreate)) {
+                this.idsByName.put(player.getName(), player.getId());
+            }
+        }
+
+        for (String name : missing) {
+            Long id = this.idsByName.get(name);
+            if (id != null) {
+                players.put(name, reference(id, name));
+            }
+        }
+        return players;
+    }
+
+    private Long cachedId(String name) {
+        if (!this.cacheLoaded) {
+            loadCache();
+        }
+        return this.idsByName.get(name);
+    }
+
+    private synchronized void loadCache() {
+        if (this.cacheLoaded) {
+            return;
+        }
+        for (Object[] row : this.playerRepository.findAllIdsAndNames()) {
+            this.idsByName.putIfAbsent((String) row[1], (Long) row[0]);
+        }
+        this.cacheLoaded = true;
+        System.out.println("CACHE DES JOUEURS CHARGE: " + this.idsByName.size() + " joueurs");
+    }
+
+    private Object lockFor(String name) {
+        return this.locks[Math.floorMod(name.hashCode(), LOCK_STRIPES)];
+    }
+
+    /**
+     * Joueur détaché portant seulement son id et son nom: suffisant pour une relation,
+     * sans requête ni proxy à initialiser hors transaction.
+     */
+    private PlayerEntity reference(Long id, String name) {
+        PlayerEntity player = new PlayerEntity(name);
+        player.setId(id);
+        return player;
     }
 }
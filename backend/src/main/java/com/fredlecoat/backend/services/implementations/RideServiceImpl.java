@@ -1,11 +1,21 @@
 package com.fredlecoat.backend.services.implementations;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import com.fredlecoat.backend.entities.RideEntity;
+import com.fredlecoat.backend.entities.dtos.RideCatalogStats;
+import com.fredlecoat.backend.repositories.NativeUpsertRepository;
 import com.fredlecoat.backend.repositories.RideRepository;
 import com.fredlecoat.backend.services.RideService;
 
@@ -15,6 +25,17 @@ public class RideServiceImpl implements RideService {
     @Autowired
     private RideRepository rideRepository;
 
+    @Autowired
+    private NativeUpsertRepository nativeUpsertRepository;
+
+    // Catalogue en mémoire, null quand il doit être rechargé
+    private volatile RideCatalog catalog;
+
+    private final LongAdder catalogHits = new LongAdder();
+    private final LongAdder catalogMisses = new LongAdder();
+    private final LongAdder catalogLoads = new LongAdder();
+    private final LongAdder catalogInvalidations = new LongAdder();
+
     @Override
     public RideEntity findById(Long id) {
         if (id == null) {
@@ -35,19 +56,68 @@ public class RideServiceImpl implements RideService {
             return null;
         }
 
+        // Une attraction existante reste inchangée, hormis l'image qui lui manquait
         if (entity.getImageUrl() != null) {
-            RideEntity foundByImage = this.rideRepository.findByImageUrl(entity.getImageUrl());
-            if (foundByImage != null) {
-                return foundByImage;
+            RideEntity known = findByImageUrl(entity.getImageUrl());
+            if (known != null) {
+                return known;
             }
+            saveAll(List.of(entity));
+            RideEntity saved = findByImageUrl(entity.getImageUrl());
+            return saved != null ? saved : count(catalog().byNameAndBrand.get(RideCatalog.label(entity.getName(), entity.getBrand())));
         }
 
-        RideEntity foundEntity = this.rideRepository.findByNameAndBrand(entity.getName(), entity.getBrand());
+        RideEntity foundEntity = count(catalog().byNameAndBrand.get(RideCatalog.label(entity.getName(), entity.getBrand())));
         if (foundEntity != null) {
             return foundEntity;
         }
 
-        return this.rideRepository.save(entity);
+        RideEntity saved = this.rideRepository.save(entity);
+        invalidateCatalog();
+        return saved;
+    }
+
+    /**
+     * Insère en une requête les attractions inconnues, par image comme par (nom, constructeur).
+     * Une attraction connue par (nom, constructeur) mais enregistrée sans image reçoit l'image;
+     * avec une autre image, elle reste inchangée. Les attractions sans image passent par save.
+     */
+    @Override
+    public void saveAll(List<RideEntity> entities) {
+        RideCatalog current = catalog();
+        List<RideEntity> inserts = new ArrayList<>();
+        List<Object[]> missingImages = new ArrayList<>();
+        Set<String> labels = new HashSet<>();
+        Set<String> imageUrls = new HashSet<>();
+
+        for (RideEntity ride : entities) {
+            if (ride == null || ride.getImageUrl() == null || current.byImageUrl.containsKey(ride.getImageUrl())
+                    || !imageUrls.add(ride.getImageUrl())) {
+                continue;
+            }
+
+            String label = RideCatalog.label(ride.getName(), ride.getBrand());
+            RideEntity known = current.byNameAndBrand.get(label);
+            if (known != null) {
+                if (known.getImageUrl() == null) {
+                    missingImages.add(new Object[] {ride.getImageUrl(), known.getId()});
+                }
+            } else if (labels.add(label)) {
+                inserts.add(ride);
+            }
+        }
+
+        if (!inserts.isEmpty() || !missingImages.isEmpty()) {
+            this.nativeUpsertRepository.insertRidesIfAbsent(inserts);
+            this.nativeUpsertRepository.fillRideImageUrls(missingImages);
+            invalidateCatalog();
+        }
+
+        for (RideEntity ride : entities) {
+            if (ride != null && ride.getImageUrl() == null) {
+                save(ride);
+            }
+        }
     }
 
     @Override
@@ -55,7 +125,24 @@ public class RideServiceImpl implements RideService {
         if (imageUrl == null) {
             return null;
         }
-        return this.rideRepository.findByImageUrl(imageUrl);
+        return count(catalog().byImageUrl.get(imageUrl));
+    }
+
+    @Override
+    public Map<String, RideEntity> findAllByImageUrls(Collection<String> imageUrls) {
+        Map<String, RideEntity> rides = new HashMap<>();
+        if (imageUrls == null || imageUrls.isEmpty()) {
+            return rides;
+        }
+
+        RideCatalog catalog = catalog();
+        for (String imageUrl : imageUrls) {
+            RideEntity ride = count(catalog.byImageUrl.get(imageUrl));
+            if (ride != null) {
+                rides.put(imageUrl, ride);
+            }
+        }
+        return rides;
     }
 
     @Override
@@ -64,10 +151,16 @@ public class RideServiceImpl implements RideService {
             return null;
         }
 
+        RideCatalog catalog = catalog();
+        RideEntity byLabel = catalog.byLabel.get(name);
+        if (byLabel != null) {
+            return count(byLabel);
+        }
+
         try {
             String ride[] = name.split(" de ");
             if (ride.length < 2) {
-                return null;
+                return count(null);
             }
 
             if (ride.length > 2) {
@@ -78,10 +171,96 @@ public class RideServiceImpl implements RideService {
                 ride[0] = merged;
             }
 
-            return this.rideRepository.findByNameAndBrand(ride[0], ride[1]);
+            return count(catalog.byNameAndBrand.get(RideCatalog.label(ride[0], ride[1])));
         } catch (Exception e) {
             System.err.println("Error parsing ride name: " + name + " - " + e.getMessage());
             return null;
         }
     }
+
+    /**
+     * Recharge l'index depuis la base, en une requête, et le remplace d'un bloc.
+     */
+    @Override
+    public synchronized void refreshCatalog() {
+        RideCatalog loaded = new RideCatalog(this.rideRepository.findAll());
+        this.catalog = loaded;
+        this.catalogLoads.increment();
+        System.out.println("CATALOGUE DES ATTRACTIONS CHARGE: " + loaded.size + " attractions");
+    }
+
+    @Override
+    public RideCatalogStats getCatalogStats() {
+        RideCatalog current = this.catalog;
+        long hits = this.catalogHits.sum();
+        long misses = this.catalogMisses.sum();
+        return new RideCatalogStats(
+            current != null ? current.size : 0,
+            hits,
+            misses,
+            this.catalogLoads.sum(),
+            this.catalogInvalidations.sum(),
+            hits + misses > 0 ? (double) hits / (hits + misses) : 0.0
+        );
+    }
+
+    private RideCatalog catalog() {
+        RideCatalog current = this.catalog;
+        if (current != null) {
+            return current;
+        }
+
+        synchronized (this) {
+            if (this.catalog == null) {
+                refreshCatalog();
+            }
+            return this.catalog;
+        }
+    }
+
+    /**
+     * Vide l'index après une écriture; il est rechargé à la lecture suivante.
+     * Synchronisé avec le chargement, pour qu'un index lu avant l'écriture ne soit pas publié après.
+     */
+    private synchronized void invalidateCatalog() {
+        this.catalog = null;
+        this.catalogInvalidations.increment();
+    }
+
+    private RideEntity count(RideEntity ride) {
+        if (ride != null) {
+            this.catalogHits.increment();
+        } else {
+            this.catalogMisses.increment();
+        }
+        return ride;
+    }
+
+    /**
+     * Index immuable des attractions, par image, par (nom, constructeur) et par libellé
+     * "nom de constructeur". Les entités sont détachées: seuls leurs champs simples sont lisibles.
+     */
+    private static final class RideCatalog {
+        final Map<String, RideEntity> byImageUrl = new HashMap<>();
+        final Map<String, RideEntity> byNameAndBrand = new HashMap<>();
+        final Map<String, RideEntity> byLabel = new HashMap<>();
+        final int size;
+
+        RideCatalog(List<RideEntity> rides) {
+            for (RideEntity ride : rides) {
+                if (ride.getImageUrl() != null) {
+                    byImageUrl.put(ride.getImageUrl(), ride);
+                }
+                if (ride.getName() != null && ride.getBrand() != null) {
+                    byNameAndBrand.putIfAbsent(label(ride.getName(), ride.getBrand()), ride);
+                    byLabel.putIfAbsent(ride.getName() + " de " + ride.getBrand(), ride);
+                }
+            }
+            this.size = rides.size();
+        }
+
+        static String label(String name, String brand) {
+            return name + "\u0000" + brand;
+        }
+    }
 }
@@ -0,0 +1,280 @@
+package com.fredlecoat.backend.services.implementations;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fredlecoat.backend.entities.dtos.ScrapeJobStatus;
+import com.fredlecoat.backend.services.ScrapeJobService;
+import com.fredlecoat.backend.services.scrapers.CityScraper;
+import com.fredlecoat.backend.services.scrapers.ParkScraper;
+import com.fredlecoat.backend.services.scrapers.RideScraper;
+import com.fredlecoat.backend.services.scrapers.ScrapeJob;
+import com.fredlecoat.backend.values.ScrapeJobState;
+import com.fredlecoat.backend.values.ScrapeJobType;
+import com.fredlecoat.backend.values.ScrapingEngine;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Background scrape jobs.
+ *
+ * The running job of each type is registered with putIfAbsent, so two
+ * concurrent submissions of the same type cannot both start. Subscribers
+ * receive a "progress" event every second while the job runs and a final
+ * one when it ends. Progress is published from a thread of this service
+ * rather than the shared scheduler thread, which the scheduled crawls keep
+ * busy for as long as they run. The last finished jobs are kept for status queries.
+ */
+@Service
+public class ScrapeJobServiceImpl implements ScrapeJobService {
+
+    private static final int KEPT_JOBS = 50;
+
+    @Autowired
+    private ParkScraper parkScraper;
+
+    @Autowired
+    private CityScraper cityScraper;
+
+    @Autowired
+    private RideScraper rideScraper;
+
+    private final Map<ScrapeJobType, ScrapeJob> running = new ConcurrentHashMap<>();
+    private final Map<String, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final Map<String, ScrapeJob> jobs = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ScrapeJob> eldest) {
+            return size() > KEPT_JOBS && eldest.getValue().isFinished();
+        }
+    };
+
+    private final AtomicInteger threadIndex = new AtomicInteger();
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable);
+        thread.setName("ScrapeJob-" + threadIndex.getAndIncrement());
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ScheduledExecutorService publisher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable);
+        thread.setName("ScrapeJob-Progress");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    public void startPublishing() {
+        publisher.scheduleAtFixedRate(this::publishProgress, 1, 1, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public ScrapeJobStatus submit(ScrapeJobType type, ScrapingEngine engine, int startId) {
+        ScrapeJob job = register(type);
+        if (job == null) {
+            return null;
+        }
+
+        executor.submit(() -> run(job, scrape(type, engine, startId)));
+        return job.toStatus();
+    }
+
+    @Override
+    public ScrapeJobStatus runAndWait(ScrapeJobType type, ScrapingEngine engine, int startId) {
+        ScrapeJob job = register(type);
+        if (job == null) {
+            return null;
+        }
+
+        run(job, scrape(type, engine, startId));
+        return job.toStatus();
+    }
+
+    @Override
+    public ScrapeJobStatus recrawlParks(int[] parkIds, ScrapingEngine engine) {
+        ScrapeJob job = register(ScrapeJobType.PARKS);
+        if (job == null) {
+            return null;
+        }
+
+        job.setTotalPages(parkIds.length);
+        run(job, recrawl -> parkScraper.scrapeParks(parkIds, engine, recrawl) >= 0);
+        return job.toStatus();
+    }
+
+    @Override
+    public ScrapeJobStatus getStatus(String jobId) {
+        ScrapeJob job = find(jobId);
+        return job != null ? job.toStatus() : null;
+    }
+
+    @Override
+    public List<ScrapeJobStatus> getJobs() {
+        List<ScrapeJobStatus> statuses = new ArrayList<>();
+        synchronized (jobs) {
+            for (ScrapeJob job : jobs.values()) {
+                statuses.add(job.toStatus());
+            }
+        }
+        return statuses;
+    }
+
+    @Override
+    public boolean cancel(String jobId) {
+        ScrapeJob job = find(jobId);
+        if (job == null) {
+            return false;
+        }
+        job.cancel();
+        System.out.println("JOB " + job.getType() + " ANNULATION DEMANDEE: " + jobId);
+        return true;
+    }
+
+    @Override
+    public SseEmitter subscribe(String jobId) {
+        ScrapeJob job = find(jobId);
+        if (job == null) {
+            return null;
+        }
+
+        SseEmitter emitter = new SseEmitter(0L);
+        List<SseEmitter> emitters = subscribers.computeIfAbsent(jobId, id -> new CopyOnWriteArrayList<>());
+        emitters.add(emitter);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(error -> emitters.remove(emitter));
+
+        send(emitter, job);
+        if (job.isFinished()) {
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    private void publishProgress() {
+        for (ScrapeJob job : running.values()) {
+            try {
+                publish(job);
+            } catch (RuntimeException e) {
+                // An exception would cancel the periodic task for good
+                System.err.println("ERREUR PUBLICATION JOB " + job.getType() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ScrapeJob job : running.values()) {
+            job.cancel();
+        }
+        executor.shutdownNow();
+        publisher.shutdownNow();
+    }
+
+    /**
+     * The scrape run by a job of the given type. It returns false if it could not start.
+     */
+    private Predicate<ScrapeJob> scrape(ScrapeJobType type, ScrapingEngine engine, int startId) {
+        return switch (type) {
+            case PARKS -> job -> parkScraper.crawlParks(startId, engine, job);
+            case CITIES -> job -> {
+                cityScraper.scrapeAllCities(job);
+                return true;
+            };
+            case RIDES -> job -> {
+                rideScraper.scrapeAllRides(job);
+                return true;
+            };
+        };
+    }
+
+    private void run(ScrapeJob job, Predicate<ScrapeJob> scrape) {
+        try {
+            boolean started = scrape.test(job);
+
+            if (!started) {
+                job.finish(ScrapeJobState.FAILED, "Un crawl des parcs est deja en cours");
+            } else if (job.getFailure() != null) {
+                job.finish(ScrapeJobState.FAILED, job.getFailure());
+            } else {
+                job.finish(job.isCancelled() ? ScrapeJobState.CANCELLED : ScrapeJobState.COMPLETED, null);
+            }
+
+        } catch (Exception e) {
+            System.err.println("ERREUR JOB " + job.getType() + ": " + e.getMessage());
+            job.finish(ScrapeJobState.FAILED, e.getMessage());
+        } finally {
+            running.remove(job.getType(), job);
+            publish(job);
+            completeSubscribers(job);
+            System.out.println("JOB " + job.getType() + " TERMINE: " + job.getState());
+        }
+    }
+
+    /**
+     * Registers a new job as the running one of its type, or returns null if one is already running.
+     */
+    private ScrapeJob register(ScrapeJobType type) {
+        ScrapeJob job = new ScrapeJob(type);
+        if (running.putIfAbsent(type, job) != null) {
+            System.out.println("JOB " + type + " DEJA EN COURS");
+            return null;
+        }
+
+        synchronized (jobs) {
+            jobs.put(job.getId(), job);
+        }
+        System.out.println("JOB " + type + " SOUMIS: " + job.getId());
+        return job;
+    }
+
+    private ScrapeJob find(String jobId) {
+        synchronized (jobs) {
+            return jobs.get(jobId);
+        }
+    }
+
+    private void publish(ScrapeJob job) {
+        List<SseEmitter> emitters = subscribers.get(job.getId());
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            send(emitter, job);
+        }
+    }
+
+    private void send(SseEmitter emitter, ScrapeJob job) {
+        try {
+            emitter.send(SseEmitter.event().name("progress").data(job.toStatus()));
+        } catch (IOException | IllegalStateException e) {
+            // Client gone: the emitter callbacks drop it
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void completeSubscribers(ScrapeJob job) {
+        List<SseEmitter> emitters = subscribers.remove(job.getId());
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            emitter.complete();
+        }
+    }
+}
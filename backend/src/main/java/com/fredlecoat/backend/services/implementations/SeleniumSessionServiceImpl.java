@@ -0,0 +1,163 @@
+package com.fredlecoat.backend.services.implementations;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.jsoup.nodes.Document;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.fredlecoat.backend.configuration.ScrapingConfig;
+import com.fredlecoat.backend.configuration.WebSiteAccessConfig;
+import com.fredlecoat.backend.services.LoginService;
+import com.fredlecoat.backend.services.SessionService;
+
+/**
+ * Session store built on the login service's primary browser.
+ *
+ * The cookie jar is exported from the primary browser after the first login.
+ * Re-logins happen under a lock, at most once per generation, on a dedicated
+ * browser that is quit once its cookies are exported: the primary browser
+ * belongs to whoever leased it from the pool and is never driven from here.
+ * Browsers, the primary one included, are then re-seeded with the exported cookies.
+ */
+@Service
+public class SeleniumSessionServiceImpl implements SessionService {
+
+    @Autowired
+    private LoginService loginService;
+
+    @Autowired
+    private WebSiteAccessConfig accessConfig;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile long generation = 0;
+    private volatile Set<Cookie> sessionCookies;
+    private volatile Map<String, String> cookieJar;
+
+    @Override
+    public long getGeneration() {
+        ensureExported();
+        return generation;
+    }
+
+    @Override
+    public Map<String, String> getCookies() {
+        ensureExported();
+        return cookieJar;
+    }
+
+    @Override
+    public boolean isLoginPage(WebDriver driver) {
+        String currentUrl = driver.getCurrentUrl();
+        if (currentUrl != null && currentUrl.contains(ScrapingConfig.LOGIN_PAGE)) {
+            return true;
+        }
+        return !driver.findElements(By.id(ScrapingConfig.Selectors.LOGIN_EMAIL)).isEmpty();
+    }
+
+    @Override
+    public boolean isLoginPage(Document document) {
+        String location = document.location();
+        if (location != null && location.contains(ScrapingConfig.LOGIN_PAGE)) {
+            return true;
+        }
+        return document.getElementById(ScrapingConfig.Selectors.LOGIN_EMAIL) != null;
+    }
+
+    @Override
+    public long restore(WebDriver driver, long seenGeneration) {
+        lock.lock();
+        try {
+            if (generation == seenGeneration) {
+                System.out.println("SESSION EXPIREE, RECONNEXION (generation " + generation + ")");
+                relogin();
+            }
+
+            if (driver != null) {
+                applyTo(driver);
+            }
+            return generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public WebDriver createSessionDriver() {
+        ensureExported();
+        WebDriver driver = loginService.launchBrowser();
+
+        try {
+            applyTo(driver);
+            if (isLoginPage(driver)) {
+                System.out.println("SESSION REFUSEE PAR LE NOUVEAU NAVIGATEUR, CONNEXION DEDIEE");
+                loginService.authenticate(driver);
+            }
+        } catch (RuntimeException e) {
+            driver.quit();
+            throw e;
+        }
+
+        return driver;
+    }
+
+    /**
+     * Copies the session cookies into a browser, then reloads a game page with them.
+     */
+    private void applyTo(WebDriver driver) {
+        // Cookies can only be set for the domain of the current page
+        driver.get(accessConfig.getUrl() + ScrapingConfig.LOGIN_PAGE);
+        driver.manage().deleteAllCookies();
+        for (Cookie cookie : sessionCookies) {
+            driver.manage().addCookie(cookie);
+        }
+        driver.get(accessConfig.getUrl() + ScrapingConfig.WORLD_MAP_PAGE);
+    }
+
+    /**
+     * Logs in with a browser of its own and exports its session.
+     */
+    private void relogin() {
+        WebDriver loginDriver = loginService.createDriver();
+        try {
+            export(loginDriver);
+        } finally {
+            loginDriver.quit();
+        }
+    }
+
+    private void ensureExported() {
+        if (cookieJar != null) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            if (cookieJar == null) {
+                export(loginService.getAuthenticatedDriver());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void export(WebDriver driver) {
+        Set<Cookie> cookies = driver.manage().getCookies();
+        Map<String, String> jar = new HashMap<>();
+        for (Cookie cookie : cookies) {
+            jar.put(cookie.getName(), cookie.getValue());
+        }
+
+        this.sessionCookies = Set.copyOf(cookies);
+        this.cookieJar = Map.copyOf(jar);
+        this.generation++;
+        System.out.println("SESSION EXPORTEE: " + jar.size() + " cookies (generation " + generation + ")");
+    }
+}
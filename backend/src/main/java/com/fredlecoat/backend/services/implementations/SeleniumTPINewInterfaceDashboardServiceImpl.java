@@ -15,28 +15,55 @@ import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import com.fredlecoat.backend.configuration.ScrapingConfig;
 import com.fredlecoat.backend.entities.DashboardActivityEntity;
 import com.fredlecoat.backend.services.DashboardActivityService;
 import com.fredlecoat.backend.services.DashboardService;
-import com.fredlecoat.backend.services.LoginService;
+import com.fredlecoat.backend.services.SessionService;
+import com.fredlecoat.backend.services.WebDriverPool;
+import com.fredlecoat.backend.services.scrapers.AdaptiveRateLimiter;
+import com.fredlecoat.backend.services.scrapers.BrowserSupervisor;
+import com.fredlecoat.backend.services.scrapers.NetworkCapture;
+import com.fredlecoat.backend.services.scrapers.ScrapingBrowserProfile;
 
 public class SeleniumTPINewInterfaceDashboardServiceImpl implements DashboardService{
 
     @Autowired
-    private LoginService loginService;
+    private DashboardActivityService dashboardActivityService;
 
     @Autowired
-    private DashboardActivityService dashboardActivityService;
+    private SessionService sessionService;
+
+    @Autowired
+    private ScrapingBrowserProfile browserProfile;
+
+    @Autowired
+    private NetworkCapture networkCapture;
+
+    @Autowired
+    private AdaptiveRateLimiter rateLimiter;
+
+    @Autowired
+    private BrowserSupervisor browserSupervisor;
+
+    @Autowired
+    private WebDriverPool webDriverPool;
 
     private String dashboardUrl = "https://themeparkindustries.com/tpiv4/game/monbureau.php";
 
     private int timeout = 10;
 
-    private WebDriver driver;
+    // Journal read handed to the crawl holding the primary browser, the same instance each time so it is queued once
+    private final Runnable deferredJournalRead = this::readJournalOnPrimary;
 
     @Override
     public Map<String, String> getPersonalData() {
         Map<String, String> personalData = new HashMap<>();
+        WebDriver driver = webDriverPool.tryLeasePrimary();
+        if (driver == null) {
+            System.err.println("NAVIGATEUR PRINCIPAL OCCUPE, DONNEES PERSONNELLES INDISPONIBLES");
+            return personalData;
+        }
         WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeout));
         try {
             driver.get(dashboardUrl);
@@ -87,18 +114,60 @@ public class SeleniumTPINewInterfaceDashboardServiceImpl implements DashboardSer
             personalData.put("experience", getElementText(pageContent, ".exp-text"));
         } catch (Exception e) {
             e.printStackTrace();
+        } finally {
+            webDriverPool.release();
         }
 
         return personalData;
     }
 
+    /**
+     * Reads the news journal with the primary browser when it is free. The scheduler thread
+     * never waits for it: while a crawl drives it, the read is handed to the crawl, which
+     * runs it between two of its pages, and this poll returns nothing.
+     */
     @Override
     public List<DashboardActivityEntity> getDashboardActivities() {
+        WebDriver driver = webDriverPool.tryLeasePrimary();
+        if (driver == null) {
+            System.out.println("NAVIGATEUR PRINCIPAL OCCUPE, RELEVE DU DASHBOARD CONFIE AU CRAWL EN COURS");
+            webDriverPool.deferToPrimary(deferredJournalRead);
+            return new ArrayList<>();
+        }
+
+        try {
+            return readJournal(driver);
+        } finally {
+            webDriverPool.recycleIdleDrivers();
+            webDriverPool.release();
+        }
+    }
+
+    private void readJournalOnPrimary() {
+        WebDriver driver = webDriverPool.tryLeasePrimary();
+        if (driver == null) {
+            return;
+        }
+        try {
+            readJournal(driver);
+        } finally {
+            webDriverPool.release();
+        }
+    }
+
+    private List<DashboardActivityEntity> readJournal(WebDriver driver) {
         List<DashboardActivityEntity> activities = new ArrayList<>();
 
         try {
-            driver = loginService.getDriver();
-            driver.get(dashboardUrl);
+            browserProfile.apply(driver, ScrapingConfig.PageTypes.DASHBOARD);
+            networkCapture.install(driver);
+            long generation = sessionService.getGeneration();
+            loadDashboard(driver);
+
+            if (sessionService.isLoginPage(driver)) {
+                sessionService.restore(driver, generation);
+                loadDashboard(driver);
+            }
 
             System.out.println("ON A EU LA PAGE DASHBOARD");
 
@@ -111,25 +180,12 @@ public class SeleniumTPINewInterfaceDashboardServiceImpl implements DashboardSer
                 ExpectedConditions.presenceOfAllElementsLocatedBy(By.cssSelector(".news-journal__item"))
             );
 
-            JavascriptExecutor js = (JavascriptExecutor) driver;
-
-            @SuppressWarnings("unchecked")
-            List<Map<String, Object>> activitiesData = (List<Map<String, Object>>) js.executeScript(
-                buildActivitiesExtractionScript()
-            );
+            List<Map<String, Object>> activitiesData = extractActivitiesData(driver);
 
             System.out.println("Nombre d'activités trouvées: " + activitiesData.size());
 
-            for (int i = 0; i < activitiesData.size(); i++) {
-                try {
-                    Map<String, Object> activityData = activitiesData.get(i);
-                    DashboardActivityEntity activity = this.dashboardActivityService.create(activityData);
-                    activities.add(activity);
-                    System.out.println("Activité " + (i + 1) + " créée avec succès");
-                } catch (Exception e) {
-                    System.err.println("Erreur lors de la création de l'activité " + (i + 1) + ": " + e.getMessage());
-                }
-            }
+            activities.addAll(this.dashboardActivityService.createNew(activitiesData));
+            System.out.println("Nouvelles activités créées: " + activities.size());
 
         } catch (Exception e) {
             System.err.println("Erreur lors de la récupération des activités du dashboard: " + e.getMessage());
@@ -138,6 +194,41 @@ public class SeleniumTPINewInterfaceDashboardServiceImpl implements DashboardSer
         return activities;
     }
 
+    /**
+     * Loads the dashboard through the rate limiter shared with the scrapers.
+     */
+    private void loadDashboard(WebDriver driver) {
+        rateLimiter.acquire();
+        long start = System.nanoTime();
+        try {
+            driver.get(dashboardUrl);
+            rateLimiter.onResponse(System.nanoTime() - start, false);
+            browserSupervisor.recordPage(driver);
+        } catch (RuntimeException e) {
+            rateLimiter.onResponse(System.nanoTime() - start, true);
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the news journal from the captured JSON when available, from the DOM otherwise.
+     */
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> extractActivitiesData(WebDriver driver) {
+        if (networkCapture.isEnabled()) {
+            List<Map<String, Object>> captured = networkCapture.findRecords(
+                networkCapture.drain(driver, ScrapingConfig.PageTypes.DASHBOARD), "date", "text"
+            );
+            if (!captured.isEmpty()) {
+                System.out.println("ACTIVITES LUES DEPUIS LA CAPTURE RESEAU");
+                return captured;
+            }
+        }
+
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        return (List<Map<String, Object>>) js.executeScript(buildActivitiesExtractionScript());
+    }
+
     private String buildActivitiesExtractionScript() {
         return """
             return Array.from(document.querySelectorAll('.news-journal__item')).map(item => ({
@@ -12,8 +12,10 @@ import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import com.fredlecoat.backend.configuration.ScrapingConfig;
 import com.fredlecoat.backend.configuration.WebSiteAccessConfig;
 import com.fredlecoat.backend.services.LoginService;
+import com.fredlecoat.backend.services.scrapers.BrowserSupervisor;
 
 import io.github.bonigarcia.wdm.WebDriverManager;
 import lombok.NoArgsConstructor;
@@ -27,26 +29,60 @@ public class SeleniumTPINewInterfaceLoginServiceImpl implements LoginService{
     @Autowired
     private ChromeOptions chromeOptions;
 
+    @Autowired
+    private BrowserSupervisor browserSupervisor;
+
     private WebDriver driver;
 
     //@Value("${scraper.global.timeout}")
     private int timeout = 10;
 
     @Override
-    public WebDriver getDriver() {
+    public synchronized WebDriver getDriver() {
 
         if (this.driver != null) {
             return this.driver;
         }
 
-        System.out.println("DEBUT TENTATIVE CONNEXION");
+        this.driver = createDriver();
+        return this.driver;
+    }
+
+    @Override
+    public WebDriver createDriver() {
+        WebDriver driver = launchBrowser();
+
+        try {
+            authenticate(driver);
+        } catch (RuntimeException e) {
+            driver.quit();
+            throw e;
+        }
+
+        return driver;
+    }
+
+    @Override
+    public synchronized WebDriver replaceDriver(WebDriver replacement) {
+        WebDriver previous = this.driver;
+        this.driver = replacement;
+        return previous;
+    }
+
+    @Override
+    public WebDriver launchBrowser() {
         WebDriverManager.chromedriver().setup();
-        this.driver = new ChromeDriver(this.chromeOptions);
+        return browserSupervisor.launch(() -> new ChromeDriver(this.chromeOptions));
+    }
+
+    @Override
+    public void authenticate(WebDriver driver) {
+        System.out.println("DEBUT TENTATIVE CONNEXION");
 
         try {
-            driver.get(this.accessConfig.getUrl() + "play.php");
+            driver.get(this.accessConfig.getUrl() + ScrapingConfig.LOGIN_PAGE);
 
-            System.out.println("ACCES A LA PAGE " + this.accessConfig.getUrl() + "play.php");
+            System.out.println("ACCES A LA PAGE " + this.accessConfig.getUrl() + ScrapingConfig.LOGIN_PAGE);
             
             WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeout));
             
@@ -58,10 +94,10 @@ public class SeleniumTPINewInterfaceLoginServiceImpl implements LoginService{
             System.out.println("TROUVER LE FORMULAIRE DE CONNEXION");
             
             WebElement usernameField = wait.until(
-                ExpectedConditions.presenceOfElementLocated(By.id("login-email"))
+                ExpectedConditions.presenceOfElementLocated(By.id(ScrapingConfig.Selectors.LOGIN_EMAIL))
             );
-            WebElement passwordField = driver.findElement(By.id("login-password"));
-            WebElement loginButton = driver.findElement(By.cssSelector("form.auth-form button.form-submit"));
+            WebElement passwordField = driver.findElement(By.id(ScrapingConfig.Selectors.LOGIN_PASSWORD));
+            WebElement loginButton = driver.findElement(By.cssSelector(ScrapingConfig.Selectors.LOGIN_SUBMIT));
 
             System.out.println("FORMULAIRE TROUVE, COMPOSANTS ENREGISTRES");
             
@@ -72,12 +108,13 @@ public class SeleniumTPINewInterfaceLoginServiceImpl implements LoginService{
 
             System.out.println("ENVOI DU FORMULAIRE DE CONNEXION");
 
+            // Attendre que le formulaire soit soumis pour que les cookies de session soient posés
+            wait.until(ExpectedConditions.stalenessOf(loginButton));
+
             System.out.println("CONNEXION REUSSIE");
         } catch (Exception e) {
             throw new RuntimeException("Échec de la connexion", e);
         }
-
-        return driver;
     }
 
 }
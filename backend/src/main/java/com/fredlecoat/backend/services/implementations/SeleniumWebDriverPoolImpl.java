@@ -0,0 +1,393 @@
+package com.fredlecoat.backend.services.implementations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openqa.selenium.WebDriver;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import com.fredlecoat.backend.configuration.WebDriverPoolConfig;
+import com.fredlecoat.backend.entities.dtos.DriverPoolStats;
+import com.fredlecoat.backend.services.LoginService;
+import com.fredlecoat.backend.services.SessionService;
+import com.fredlecoat.backend.services.WebDriverPool;
+import com.fredlecoat.backend.services.scrapers.BrowserSupervisor;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * WebDriver pool backed by the login service.
+ *
+ * Slot 0 reuses the login service's cached driver so that a pool of size 1
+ * behaves exactly like the single shared driver. Extra slots are launched
+ * lazily on the first lease and join the shared session instead of logging
+ * in again. A slot whose driver keeps failing is relaunched when it is
+ * released; if relaunching fails the slot is retired. A slot whose browser
+ * crossed the supervisor's page or memory threshold is recycled when it is
+ * released, between two pages. Every driver user leases its slot: the
+ * workers of a parallel crawl any slot, the other scrapers and the dashboard
+ * poller slot 0, so that no slot is recycled while another thread drives it.
+ * Leases are reentrant: a thread leasing again the slot it holds must release it as often.
+ *
+ * The dashboard poller never waits for slot 0: while a crawl holds it, the poll
+ * is handed to the crawl, which runs it between two of its pages.
+ */
+@Service
+@Primary
+public class SeleniumWebDriverPoolImpl implements WebDriverPool {
+
+    @Autowired
+    private LoginService loginService;
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private WebDriverPoolConfig poolConfig;
+
+    @Autowired
+    private BrowserSupervisor browserSupervisor;
+
+    // Pause between two checks for the primary driver while it is leased
+    private static final long PRIMARY_POLL_INTERVAL_MS = 50;
+
+    private final List<PooledDriver> slots = new CopyOnWriteArrayList<>();
+    private final BlockingQueue<PooledDriver> idle = new LinkedBlockingQueue<>();
+    private final ThreadLocal<PooledDriver> leased = new ThreadLocal<>();
+    private final Queue<Runnable> primaryTasks = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger liveSlots = new AtomicInteger();
+
+    private volatile boolean started = false;
+
+    @Override
+    public WebDriver getAuthenticatedDriver() {
+        PooledDriver own = leased.get();
+        return own != null ? own.driver : loginService.getAuthenticatedDriver();
+    }
+
+    @Override
+    public boolean isDriverReady() {
+        return loginService.isDriverReady();
+    }
+
+    @Override
+    public WebDriver lease() {
+        PooledDriver own = leased.get();
+        if (own != null) {
+            own.holds++;
+            return own.driver;
+        }
+
+        ensureStarted();
+        if (liveSlots.get() == 0) {
+            return null;
+        }
+
+        try {
+            PooledDriver pooled = idle.poll(poolConfig.getLeaseTimeoutSeconds(), TimeUnit.SECONDS);
+            if (pooled == null) {
+                return null;
+            }
+            bind(pooled);
+            return pooled.driver;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    @Override
+    public WebDriver leasePrimary() {
+        PooledDriver own = leased.get();
+        if (own != null) {
+            own.holds++;
+            return own.driver;
+        }
+
+        PooledDriver primary = primary();
+        if (primary == null) {
+            return null;
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(poolConfig.getLeaseTimeoutSeconds());
+        try {
+            while (!idle.remove(primary)) {
+                if (System.nanoTime() >= deadline) {
+                    return null;
+                }
+                Thread.sleep(PRIMARY_POLL_INTERVAL_MS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+
+        bind(primary);
+        return primary.driver;
+    }
+
+    @Override
+    public WebDriver tryLeasePrimary() {
+        PooledDriver own = leased.get();
+        if (own != null) {
+            own.holds++;
+            return own.driver;
+        }
+
+        PooledDriver primary = primary();
+        if (primary == null || !idle.remove(primary)) {
+            return null;
+        }
+        bind(primary);
+        return primary.driver;
+    }
+
+    @Override
+    public void deferToPrimary(Runnable task) {
+        // The same poll handed over twice would only read the same page twice
+        if (!primaryTasks.contains(task)) {
+            primaryTasks.offer(task);
+        }
+        // Slot 0 may have been released meanwhile: the task then runs here, on release
+        if (tryLeasePrimary() != null) {
+            release();
+        }
+    }
+
+    @Override
+    public boolean runPendingPrimaryTasks() {
+        PooledDriver own = leased.get();
+        if (own == null || own.slot != 0 || primaryTasks.isEmpty()) {
+            return false;
+        }
+
+        boolean ran = false;
+        Runnable task;
+        while ((task = primaryTasks.poll()) != null) {
+            ran = true;
+            try {
+                task.run();
+            } catch (Exception e) {
+                System.err.println("ERREUR TACHE DU NAVIGATEUR PRINCIPAL: " + e.getMessage());
+            }
+        }
+        return ran;
+    }
+
+    @Override
+    public void recordPage(boolean success) {
+        PooledDriver own = leased.get();
+        if (own == null) {
+            return;
+        }
+
+        own.pagesServed.incrementAndGet();
+        if (success) {
+            own.consecutiveFailures.set(0);
+        } else {
+            own.failedPages.incrementAndGet();
+            own.consecutiveFailures.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void release() {
+        PooledDriver own = leased.get();
+        if (own == null) {
+            return;
+        }
+        if (own.holds == 1) {
+            // Tasks handed over while this thread drove slot 0 run before it goes back to the queue
+            runPendingPrimaryTasks();
+        }
+        if (--own.holds > 0) {
+            return;
+        }
+        leased.remove();
+
+        own.busyNanos.addAndGet(System.nanoTime() - own.leasedSince);
+        own.leasedSince = 0;
+
+        if (own.consecutiveFailures.get() >= poolConfig.getMaxConsecutiveFailures()) {
+            relaunch(own);
+            return;
+        }
+        if (browserSupervisor.needsRecycling(own.driver)) {
+            recycle(own);
+        }
+        idle.offer(own);
+    }
+
+    @Override
+    public void recycleIdleDrivers() {
+        // The calling thread owns its slot and is between two pages
+        PooledDriver own = leased.get();
+        if (own != null && !own.retired && browserSupervisor.needsRecycling(own.driver)) {
+            recycle(own);
+        }
+
+        for (PooledDriver pooled : slots) {
+            // Every driver user leases its slot, slot 0 included: a slot taken out of the idle queue is not in use
+            if (!pooled.retired && browserSupervisor.needsRecycling(pooled.driver) && idle.remove(pooled)) {
+                recycle(pooled);
+                idle.offer(pooled);
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return Math.max(1, poolConfig.getSize());
+    }
+
+    @Override
+    public List<DriverPoolStats> getStats() {
+        List<DriverPoolStats> stats = new ArrayList<>();
+        for (PooledDriver pooled : slots) {
+            stats.add(pooled.toStats(poolConfig.getMaxConsecutiveFailures()));
+        }
+        return stats;
+    }
+
+    private PooledDriver primary() {
+        ensureStarted();
+        PooledDriver primary = slots.isEmpty() ? null : slots.get(0);
+        return primary != null && primary.slot == 0 ? primary : null;
+    }
+
+    private void bind(PooledDriver pooled) {
+        pooled.holds = 1;
+        pooled.leasedSince = System.nanoTime();
+        leased.set(pooled);
+    }
+
+    private void ensureStarted() {
+        if (started) {
+            return;
+        }
+
+        synchronized (this) {
+            if (started) {
+                return;
+            }
+
+            System.out.println("DEMARRAGE DU POOL DE NAVIGATEURS (" + size() + ")");
+            for (int slot = 0; slot < size(); slot++) {
+                try {
+                    WebDriver driver = slot == 0 ? loginService.getAuthenticatedDriver() : sessionService.createSessionDriver();
+                    PooledDriver pooled = new PooledDriver(slot, driver);
+                    slots.add(pooled);
+                    idle.offer(pooled);
+                    liveSlots.incrementAndGet();
+                } catch (Exception e) {
+                    System.err.println("ERREUR LANCEMENT NAVIGATEUR #" + slot + ": " + e.getMessage());
+                }
+            }
+            started = true;
+        }
+    }
+
+    private void relaunch(PooledDriver pooled) {
+        System.out.println("NAVIGATEUR #" + pooled.slot + " EN ECHEC, RELANCE");
+
+        // Slot 0 belongs to the login service: it is never quit here
+        if (pooled.slot == 0) {
+            pooled.consecutiveFailures.set(0);
+            idle.offer(pooled);
+            return;
+        }
+
+        quitQuietly(pooled.driver);
+        try {
+            pooled.driver = sessionService.createSessionDriver();
+            pooled.consecutiveFailures.set(0);
+            idle.offer(pooled);
+        } catch (Exception e) {
+            System.err.println("ERREUR RELANCE NAVIGATEUR #" + pooled.slot + ": " + e.getMessage());
+            pooled.retired = true;
+            liveSlots.decrementAndGet();
+        }
+    }
+
+    /**
+     * Replaces the slot's browser with a fresh one joined to the shared session.
+     * Slot 0 also becomes the login service's driver. Keeps the old browser on failure.
+     */
+    private void recycle(PooledDriver pooled) {
+        try {
+            pooled.driver = browserSupervisor.recycle(pooled.driver, () -> {
+                WebDriver replacement = sessionService.createSessionDriver();
+                if (pooled.slot == 0) {
+                    loginService.replaceDriver(replacement);
+                }
+                return replacement;
+            });
+        } catch (Exception e) {
+            System.err.println("ERREUR RECYCLAGE NAVIGATEUR #" + pooled.slot + ": " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (PooledDriver pooled : slots) {
+            if (pooled.slot != 0 && !pooled.retired) {
+                quitQuietly(pooled.driver);
+            }
+        }
+    }
+
+    private void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            System.err.println("ERREUR FERMETURE NAVIGATEUR: " + e.getMessage());
+        }
+    }
+
+    /**
+     * A pool slot and its runtime counters.
+     */
+    private static final class PooledDriver {
+        final int slot;
+        volatile WebDriver driver;
+        volatile long leasedSince = 0;
+        // Reentrant leases of the owning thread, only touched by it
+        int holds = 0;
+        volatile boolean retired = false;
+        final AtomicLong pagesServed = new AtomicLong();
+        final AtomicLong failedPages = new AtomicLong();
+        final AtomicInteger consecutiveFailures = new AtomicInteger();
+        final AtomicLong busyNanos = new AtomicLong();
+
+        PooledDriver(int slot, WebDriver driver) {
+            this.slot = slot;
+            this.driver = driver;
+        }
+
+        DriverPoolStats toStats(int maxConsecutiveFailures) {
+            long since = leasedSince;
+            long busy = busyNanos.get() + (since != 0 ? System.nanoTime() - since : 0);
+            double pagesPerSecond = busy > 0 ? pagesServed.get() / (busy / 1_000_000_000.0) : 0.0;
+            boolean healthy = !retired && consecutiveFailures.get() < maxConsecutiveFailures;
+            return new DriverPoolStats(
+                slot,
+                healthy,
+                since != 0,
+                pagesServed.get(),
+                failedPages.get(),
+                consecutiveFailures.get(),
+                pagesPerSecond
+            );
+        }
+    }
+}
@@ -3,35 +3,39 @@ package com.fredlecoat.backend.services.implementations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.fredlecoat.backend.services.ScrapeJobService;
 import com.fredlecoat.backend.services.TPIDataService;
-import com.fredlecoat.backend.services.scrapers.CityScraper;
-import com.fredlecoat.backend.services.scrapers.ParkScraper;
-import com.fredlecoat.backend.services.scrapers.RideScraper;
-
+import com.fredlecoat.backend.values.ScrapeJobType;
+import com.fredlecoat.backend.values.ScrapingEngine;
+
+/**
+ * Runs the scrapers as jobs of ScrapeJobService, so that a scheduled crawl and
+ * one submitted through the API can never run at the same time.
+ * Cities and rides run on the calling thread, one after the other; parks run in the background.
+ */
 @Service
 public class TPIDataServiceNewImpl implements TPIDataService {
 
     @Autowired
-    private RideScraper rideScraper;
-
-    @Autowired
-    private CityScraper cityScraper;
-
-    @Autowired
-    private ParkScraper parkScraper;
+    private ScrapeJobService scrapeJobService;
 
     @Override
     public void getAllRidesData() {
-        rideScraper.scrapeAllRides();
+        scrapeJobService.runAndWait(ScrapeJobType.RIDES, ScrapingEngine.BROWSER, 1);
     }
 
     @Override
     public void getAllCitiesData() {
-        cityScraper.scrapeAllCities();
+        scrapeJobService.runAndWait(ScrapeJobType.CITIES, ScrapingEngine.BROWSER, 1);
     }
 
     @Override
     public void getAllParksData() {
-        parkScraper.scrapeAllParks();
+        getAllParksData(ScrapingEngine.BROWSER);
+    }
+
+    @Override
+    public void getAllParksData(ScrapingEngine engine) {
+        scrapeJobService.submit(ScrapeJobType.PARKS, engine, 1);
     }
 }
@@ -0,0 +1,132 @@
+package com.fredlecoat.backend.services.scrapers;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.fredlecoat.backend.configuration.RateLimiterConfig;
+import com.fredlecoat.backend.entities.dtos.RateLimiterStats;
+
+/**
+ * Token bucket shared by every request made to the game server: scrapers,
+ * the HTTP engine and the dashboard poll all acquire from it, so concurrent
+ * jobs share one politeness budget.
+ *
+ * The refill rate follows AIMD: each healthy response raises it a little
+ * (about increasePerSecond per second at full speed), an error or a response
+ * slower than slowResponseMs multiplies it by decreaseFactor, at most once
+ * per cooldown period.
+ */
+@Component
+public class AdaptiveRateLimiter {
+
+    private final RateLimiterConfig rateConfig;
+
+    private double rate;
+    private double tokens;
+    private long lastRefillNanos = System.nanoTime();
+    private long lastDecreaseNanos = 0;
+
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong acquired = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong slowResponses = new AtomicLong();
+    private final AtomicLong decreases = new AtomicLong();
+    private final AtomicLong responses = new AtomicLong();
+    private final AtomicLong latencyNanos = new AtomicLong();
+
+    @Autowired
+    public AdaptiveRateLimiter(RateLimiterConfig rateConfig) {
+        this.rateConfig = rateConfig;
+        this.rate = rateConfig.getInitialRate();
+        this.tokens = rateConfig.getBurst();
+    }
+
+    /**
+     * Blocks until a request may be sent.
+     */
+    public void acquire() {
+        waiting.incrementAndGet();
+        try {
+            long waitNanos;
+            while ((waitNanos = tryAcquire()) > 0) {
+                Thread.sleep(waitNanos / 1_000_000, (int) (waitNanos % 1_000_000));
+            }
+            acquired.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    /**
+     * Reports how the request went, which drives the rate.
+     */
+    public void onResponse(long elapsedNanos, boolean error) {
+        responses.incrementAndGet();
+        latencyNanos.addAndGet(elapsedNanos);
+
+        boolean slow = elapsedNanos / 1_000_000 > rateConfig.getSlowResponseMs();
+        if (error) {
+            errors.incrementAndGet();
+        }
+        if (slow) {
+            slowResponses.incrementAndGet();
+        }
+
+        synchronized (this) {
+            if (error || slow) {
+                decrease();
+            } else {
+                rate = Math.min(rateConfig.getMaxRate(), rate + rateConfig.getIncreasePerSecond() / rate);
+            }
+        }
+    }
+
+    public synchronized double getRate() {
+        return rate;
+    }
+
+    public RateLimiterStats getStats() {
+        long count = responses.get();
+        return new RateLimiterStats(
+            getRate(),
+            waiting.get(),
+            acquired.get(),
+            errors.get(),
+            slowResponses.get(),
+            decreases.get(),
+            count > 0 ? latencyNanos.get() / 1_000_000.0 / count : 0.0
+        );
+    }
+
+    /**
+     * Takes a token if one is available and returns 0, or returns how long to wait for the next one.
+     */
+    private synchronized long tryAcquire() {
+        long now = System.nanoTime();
+        tokens = Math.min(rateConfig.getBurst(), tokens + (now - lastRefillNanos) / 1_000_000_000.0 * rate);
+        lastRefillNanos = now;
+
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) ((1 - tokens) / rate * 1_000_000_000L);
+    }
+
+    private void decrease() {
+        long now = System.nanoTime();
+        if (lastDecreaseNanos != 0 && now - lastDecreaseNanos < rateConfig.getDecreaseCooldownMs() * 1_000_000L) {
+            return;
+        }
+
+        rate = Math.max(rateConfig.getMinRate(), rate * rateConfig.getDecreaseFactor());
+        lastDecreaseNanos = now;
+        decreases.incrementAndGet();
+        System.out.println("LIMITEUR: RALENTISSEMENT A " + String.format("%.2f", rate) + " requetes/s");
+    }
+}
@@ -1,12 +1,20 @@
 package com.fredlecoat.backend.services.scrapers;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 
 import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.WebDriverWait;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import com.fredlecoat.backend.configuration.ScrapingConfig;
 import com.fredlecoat.backend.configuration.WebSiteAccessConfig;
+import com.fredlecoat.backend.services.SessionService;
+import com.fredlecoat.backend.services.WebDriverPool;
 import com.fredlecoat.backend.services.WebDriverProvider;
 
 /**
@@ -15,8 +23,11 @@ import com.fredlecoat.backend.services.WebDriverProvider;
  * Responsibilities:
  * - WebDriver access through WebDriverProvider
  * - URL building from configuration
+ * - Session expiry detection and recovery on navigation
+ * - Optional capture of the JSON responses loaded by the page
  * - JavaScript execution helpers
- * - Common delay/wait handling
+ * - Request pacing through the shared adaptive rate limiter
+ * - Common delay/wait handling, including condition-based page readiness
  */
 public abstract class BaseScraper {
 
@@ -26,6 +37,49 @@ public abstract class BaseScraper {
     @Autowired
     protected WebDriverProvider webDriverProvider;
 
+    @Autowired
+    protected SessionService sessionService;
+
+    @Autowired
+    protected PageReadinessMetrics readinessMetrics;
+
+    @Autowired
+    protected ScrapingBrowserProfile browserProfile;
+
+    @Autowired
+    protected NetworkCapture networkCapture;
+
+    @Autowired
+    protected AdaptiveRateLimiter rateLimiter;
+
+    @Autowired
+    protected BrowserSupervisor browserSupervisor;
+
+    /**
+     * Binds the primary driver to the calling thread while a crawl uses the browser.
+     * Returns false if it stayed in use by another crawl.
+     */
+    protected boolean leasePrimaryDriver() {
+        return !(webDriverProvider instanceof WebDriverPool pool) || pool.leasePrimary() != null;
+    }
+
+    /**
+     * Returns the driver leased by {@link #leasePrimaryDriver()} to the pool.
+     */
+    protected void releasePrimaryDriver() {
+        if (webDriverProvider instanceof WebDriverPool pool) {
+            pool.release();
+        }
+    }
+
+    /**
+     * Runs the tasks handed to the primary driver while this thread holds it, such as the
+     * dashboard poll. To be called between two pages: returns true if the browser left the page.
+     */
+    protected boolean yieldPrimaryDriver() {
+        return webDriverProvider instanceof WebDriverPool pool && pool.runPendingPrimaryTasks();
+    }
+
     /**
      * Returns the authenticated WebDriver for scraping.
      */
@@ -41,10 +95,49 @@ public abstract class BaseScraper {
     }
 
     /**
-     * Navigates to a page and waits for it to load.
+     * Navigates to a page of the given type and waits for it to load.
+     * The browser profile rules of that page type are applied first, and
+     * every page load goes through the rate limiter.
+     * If the session expired and the site redirected to the login form,
+     * restores the session and loads the page again.
+     * The page is about to be replaced: tasks waiting for the primary driver run first.
+     */
+    protected void navigateTo(String relativePath, String pageType) {
+        yieldPrimaryDriver();
+        WebDriver driver = getDriver();
+        browserProfile.apply(driver, pageType);
+        networkCapture.install(driver);
+        long generation = sessionService.getGeneration();
+        load(driver, buildUrl(relativePath));
+
+        if (sessionService.isLoginPage(driver)) {
+            sessionService.restore(driver, generation);
+            load(driver, buildUrl(relativePath));
+        }
+    }
+
+    private void load(WebDriver driver, String url) {
+        rateLimiter.acquire();
+        long start = System.nanoTime();
+        try {
+            driver.get(url);
+            rateLimiter.onResponse(System.nanoTime() - start, false);
+            browserSupervisor.recordPage(driver);
+        } catch (RuntimeException e) {
+            rateLimiter.onResponse(System.nanoTime() - start, true);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the records carrying all the given keys found in the JSON responses
+     * captured on the current page. Empty when capture is disabled or nothing matched.
      */
-    protected void navigateTo(String relativePath) {
-        getDriver().get(buildUrl(relativePath));
+    protected List<Map<String, Object>> capturedRecords(String pageType, String... requiredKeys) {
+        if (!networkCapture.isEnabled()) {
+            return List.of();
+        }
+        return networkCapture.findRecords(networkCapture.drain(getDriver(), pageType), requiredKeys);
     }
 
     /**
@@ -64,6 +157,36 @@ public abstract class BaseScraper {
         return js.executeScript(script);
     }
 
+    /**
+     * Waits until the page of the given type is ready, as defined by the condition,
+     * and records how long that took. Returns false if the timeout expired first.
+     */
+    protected boolean waitUntilReady(String pageType, ExpectedCondition<?> condition, int timeoutMs) {
+        long start = System.nanoTime();
+        WebDriverWait wait = new WebDriverWait(
+            getDriver(),
+            Duration.ofMillis(timeoutMs),
+            Duration.ofMillis(ScrapingConfig.READY_POLL_INTERVAL_MS)
+        );
+
+        try {
+            wait.until(condition);
+            readinessMetrics.record(pageType, System.nanoTime() - start);
+            return true;
+        } catch (TimeoutException e) {
+            readinessMetrics.recordTimeout(pageType, System.nanoTime() - start);
+            System.out.println("  PAGE " + pageType + " NON PRETE APRES " + timeoutMs + " ms");
+            return false;
+        }
+    }
+
+    /**
+     * Readiness condition backed by a script returning a boolean.
+     */
+    protected static ExpectedCondition<Boolean> scriptCondition(String script, Object... args) {
+        return driver -> Boolean.TRUE.equals(((JavascriptExecutor) driver).executeScript(script, args));
+    }
+
     /**
      * Pauses execution for the specified duration.
      */
@@ -0,0 +1,201 @@
+package com.fredlecoat.backend.services.scrapers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.openqa.selenium.WebDriver;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.fredlecoat.backend.configuration.BrowserSupervisorConfig;
+import com.fredlecoat.backend.entities.dtos.BrowserSupervisorStats;
+
+/**
+ * Tracks each browser's page count and the memory of its process tree, and
+ * tells when it is due for recycling.
+ *
+ * The process tree of a browser is found by comparing the JVM's child
+ * processes before and after the launch (launches are serialized for that),
+ * and its memory is the sum of VmRSS from /proc over that tree. Where /proc
+ * is not available, only the page threshold applies. The pool performs the
+ * recycling itself, at page boundaries, through {@link #recycle}.
+ */
+@Component
+public class BrowserSupervisor {
+
+    private static final Path PROC = Path.of("/proc");
+
+    private final BrowserSupervisorConfig supervisorConfig;
+
+    private final Map<WebDriver, TrackedBrowser> browsers = new WeakHashMap<>();
+
+    private final AtomicLong recycles = new AtomicLong();
+    private volatile long lastRecycleRssBefore = 0;
+    private volatile long lastRecycleRssAfter = 0;
+
+    @Autowired
+    public BrowserSupervisor(BrowserSupervisorConfig supervisorConfig) {
+        this.supervisorConfig = supervisorConfig;
+    }
+
+    /**
+     * Launches a browser and records the processes it started.
+     */
+    public synchronized WebDriver launch(Supplier<WebDriver> launcher) {
+        Set<Long> before = childProcesses();
+        WebDriver driver = launcher.get();
+        Set<Long> started = childProcesses();
+        started.removeAll(before);
+
+        // Keep the roots of the new processes: their descendants are re-read at each measure
+        Set<Long> roots = started.stream()
+            .filter(pid -> ProcessHandle.of(pid)
+                .flatMap(ProcessHandle::parent)
+                .map(parent -> !started.contains(parent.pid()))
+                .orElse(true))
+            .collect(Collectors.toSet());
+
+        browsers.put(driver, new TrackedBrowser(roots));
+        return driver;
+    }
+
+    public void recordPage(WebDriver driver) {
+        TrackedBrowser browser = tracked(driver);
+        if (browser != null) {
+            browser.pagesServed.incrementAndGet();
+        }
+    }
+
+    /**
+     * True once the browser crossed the page or memory threshold.
+     */
+    public boolean needsRecycling(WebDriver driver) {
+        TrackedBrowser browser = tracked(driver);
+        if (!supervisorConfig.isEnabled() || browser == null) {
+            return false;
+        }
+
+        long pages = browser.pagesServed.get();
+        if (pages >= supervisorConfig.getMaxPagesPerBrowser()) {
+            return true;
+        }
+        if (pages - browser.pagesAtLastCheck < supervisorConfig.getRssCheckEveryPages()) {
+            return false;
+        }
+
+        browser.pagesAtLastCheck = pages;
+        return residentBytes(browser) / (1024 * 1024) >= supervisorConfig.getMaxRssMb();
+    }
+
+    /**
+     * Launches a replacement, then quits the browser. Returns the replacement.
+     * The relauncher is expected to go through {@link #launch} and restore the session;
+     * if it fails, the browser is left running and the exception propagates.
+     */
+    public WebDriver recycle(WebDriver driver, Supplier<WebDriver> relauncher) {
+        TrackedBrowser browser = tracked(driver);
+        long before = browser != null ? residentBytes(browser) : 0;
+        long pages = browser != null ? browser.pagesServed.get() : 0;
+
+        WebDriver replacement = relauncher.get();
+
+        quitQuietly(driver);
+        synchronized (this) {
+            browsers.remove(driver);
+        }
+
+        TrackedBrowser relaunched = tracked(replacement);
+        long after = relaunched != null ? residentBytes(relaunched) : 0;
+
+        recycles.incrementAndGet();
+        lastRecycleRssBefore = before;
+        lastRecycleRssAfter = after;
+        System.out.println("NAVIGATEUR RECYCLE APRES " + pages + " pages: "
+            + before / (1024 * 1024) + " Mo -> " + after / (1024 * 1024) + " Mo");
+        return replacement;
+    }
+
+    public BrowserSupervisorStats getStats() {
+        List<TrackedBrowser> tracked;
+        synchronized (this) {
+            tracked = List.copyOf(browsers.values());
+        }
+
+        long total = 0;
+        for (TrackedBrowser browser : tracked) {
+            total += residentBytes(browser);
+        }
+        return new BrowserSupervisorStats(
+            tracked.size(),
+            total / (1024 * 1024),
+            recycles.get(),
+            lastRecycleRssBefore / (1024 * 1024),
+            lastRecycleRssAfter / (1024 * 1024)
+        );
+    }
+
+    private synchronized TrackedBrowser tracked(WebDriver driver) {
+        return driver != null ? browsers.get(driver) : null;
+    }
+
+    private Set<Long> childProcesses() {
+        return ProcessHandle.current().descendants()
+            .map(ProcessHandle::pid)
+            .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    private long residentBytes(TrackedBrowser browser) {
+        long total = 0;
+        for (Long root : browser.rootPids) {
+            Set<Long> tree = new HashSet<>();
+            tree.add(root);
+            ProcessHandle.of(root).ifPresent(handle -> handle.descendants().forEach(child -> tree.add(child.pid())));
+            for (Long pid : tree) {
+                total += residentBytes(pid);
+            }
+        }
+        return total;
+    }
+
+    private long residentBytes(long pid) {
+        try {
+            for (String line : Files.readAllLines(PROC.resolve(String.valueOf(pid)).resolve("status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    // Format: "VmRSS:    123456 kB"
+                    String[] parts = line.substring(6).trim().split("\\s+");
+                    return Long.parseLong(parts[0]) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Process gone, or no /proc on this platform
+        }
+        return 0;
+    }
+
+    private void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            System.err.println("ERREUR FERMETURE NAVIGATEUR: " + e.getMessage());
+        }
+    }
+
+    private static final class TrackedBrowser {
+        final Set<Long> rootPids;
+        final AtomicLong pagesServed = new AtomicLong();
+        volatile long pagesAtLastCheck = 0;
+
+        TrackedBrowser(Set<Long> rootPids) {
+            this.rootPids = rootPids;
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.fredlecoat.backend.services.scrapers;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
@@ -17,19 +20,24 @@ import com.fredlecoat.backend.configuration.ScrapingConfig;
 import com.fredlecoat.backend.entities.CityEntity;
 import com.fredlecoat.backend.entities.PlayerEntity;
 import com.fredlecoat.backend.services.CityService;
+import com.fredlecoat.backend.services.CrawlFrontierService;
 import com.fredlecoat.backend.services.ParkService;
 import com.fredlecoat.backend.services.PlayerService;
 import com.fredlecoat.backend.utils.ScrapingParser;
 import com.fredlecoat.backend.values.CityDifficulty;
+import com.fredlecoat.backend.values.ScrapeJobType;
 
 /**
  * Scraper for extracting city data from the world map page.
  *
  * Responsibilities:
- * - Navigate through countries and cities on the world map
+ * - Navigate through countries and cities on the world map, in a single
+ *   in-page pass when possible, one select change at a time otherwise
  * - Extract city details (population, surface, difficulty, etc.)
  * - Extract parks associated with each city
  * - Delegate persistence to appropriate services
+ * - Checkpoint the cities done, so that an interrupted crawl resumes after them
+ * - Reload CityService's city dictionary once done
  */
 @Component
 public class CityScraper extends BaseScraper {
@@ -37,12 +45,14 @@ public class CityScraper extends BaseScraper {
     private final CityService cityService;
     private final ParkService parkService;
     private final PlayerService playerService;
+    private final CrawlFrontierService frontierService;
 
     @Autowired
-    public CityScraper(CityService cityService, ParkService parkService, PlayerService playerService) {
+    public CityScraper(CityService cityService, ParkService parkService, PlayerService playerService, CrawlFrontierService frontierService) {
         this.cityService = cityService;
         this.parkService = parkService;
         this.playerService = playerService;
+        this.frontierService = frontierService;
     }
 
     @Override
@@ -51,21 +61,186 @@ public class CityScraper extends BaseScraper {
     }
 
     public void scrapeAllCities() {
+        scrapeAllCities(ScrapeJob.detached(ScrapeJobType.CITIES));
+    }
+
+    public void scrapeAllCities(ScrapeJob job) {
         System.out.println("DEBUT SCRAPING DES VILLES");
+        if (!leasePrimaryDriver()) {
+            job.reportFailure("Navigateur principal occupe");
+            System.err.println("NAVIGATEUR PRINCIPAL OCCUPE, SCRAPING DES VILLES ANNULE");
+            return;
+        }
+        CrawlFrontier frontier = frontierService.resume(CrawlFrontier.CITIES);
+        CityCrawl crawl = new CityCrawl(frontier, job);
+        boolean leased = true;
 
         try {
-            navigateTo(ScrapingConfig.WORLD_MAP_PAGE);
+            navigateTo(ScrapingConfig.WORLD_MAP_PAGE, ScrapingConfig.PageTypes.WORLD_MAP);
             WebDriverWait wait = new WebDriverWait(getDriver(), Duration.ofSeconds(10));
-            iterateCountriesAndCities(wait);
+            wait.until(ExpectedConditions.presenceOfElementLocated(By.id(ScrapingConfig.Selectors.COUNTRY_SELECT)));
+
+            List<Map<String, Object>> worldMap = extractCapturedWorldMap();
+            if (worldMap.isEmpty()) {
+                worldMap = extractWorldMapInOnePass();
+            }
+
+            if (worldMap != null && !worldMap.isEmpty()) {
+                // Saving the world map needs no browser: the primary one goes back to the dashboard poll
+                releasePrimaryDriver();
+                leased = false;
+                persistWorldMap(worldMap, crawl);
+            } else {
+                System.out.println("EXTRACTION EN UNE PASSE IMPOSSIBLE, PARCOURS VILLE PAR VILLE");
+                // A timed out script keeps changing the selects in the page: reloading it stops the script
+                navigateTo(ScrapingConfig.WORLD_MAP_PAGE, ScrapingConfig.PageTypes.WORLD_MAP);
+                wait.until(ExpectedConditions.presenceOfElementLocated(By.id(ScrapingConfig.Selectors.COUNTRY_SELECT)));
+                iterateCountriesAndCities(wait, crawl);
+            }
+            // A cancelled crawl keeps its frontier open so the next one resumes it
+            if (job.isCancelled()) {
+                frontierService.checkpoint(frontier);
+            } else {
+                frontierService.finish(frontier);
+            }
             System.out.println("SCRAPING DES VILLES TERMINE");
 
         } catch (Exception e) {
+            frontierService.checkpoint(frontier);
+            job.reportFailure(e.getMessage());
             System.err.println("ERREUR SCRAPING VILLES: " + e.getMessage());
             e.printStackTrace();
+        } finally {
+            if (leased) {
+                releasePrimaryDriver();
+            }
+            refreshCityDictionary();
+        }
+    }
+
+    private void refreshCityDictionary() {
+        try {
+            cityService.refreshDictionary();
+        } catch (Exception e) {
+            System.err.println("ERREUR RECHARGEMENT DES VILLES: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Builds the world map from the JSON the page loaded for itself, when network
+     * capture is enabled and the captured cities carry the fields read from the DOM.
+     */
+    private List<Map<String, Object>> extractCapturedWorldMap() {
+        List<Map<String, Object>> worldMap = new ArrayList<>();
+        for (Map<String, Object> record : capturedRecords(ScrapingConfig.PageTypes.WORLD_MAP, CityExtractionScripts.CITY_FIELDS)) {
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("option", record.get("cityName"));
+            entry.put("details", record);
+            entry.put("parks", record.get("parks"));
+            worldMap.add(entry);
+        }
+
+        if (!worldMap.isEmpty()) {
+            System.out.println("CARTE DU MONDE LUE DEPUIS LA CAPTURE RESEAU: " + worldMap.size() + " villes");
+        }
+        return worldMap;
+    }
+
+    /**
+     * Reads every city of the world map, with its parks, in a single asynchronous
+     * script that drives the selects itself. Returns null if the script failed.
+     */
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> extractWorldMapInOnePass() {
+        WebDriver driver = getDriver();
+        Duration previousTimeout = driver.manage().timeouts().getScriptTimeout();
+        long start = System.nanoTime();
+
+        try {
+            driver.manage().timeouts().scriptTimeout(Duration.ofMillis(ScrapingConfig.WORLD_MAP_BULK_TIMEOUT_MS));
+            List<Map<String, Object>> cities = (List<Map<String, Object>>) ((JavascriptExecutor) driver).executeAsyncScript(
+                CityExtractionScripts.WORLD_MAP_BULK,
+                ScrapingConfig.SELECT_READY_TIMEOUT_MS
+            );
+            System.out.println("CARTE DU MONDE LUE EN UNE PASSE: " + (cities != null ? cities.size() : 0)
+                + " villes en " + (System.nanoTime() - start) / 1_000_000 + " ms");
+            return cities;
+
+        } catch (Exception e) {
+            System.err.println("ERREUR EXTRACTION CARTE DU MONDE: " + e.getMessage());
+            return null;
+        } finally {
+            driver.manage().timeouts().scriptTimeout(previousTimeout);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void persistWorldMap(List<Map<String, Object>> worldMap, CityCrawl crawl) {
+        crawl.job().setTotalPages(worldMap.size());
+        Map<String, CityEntity> savedCities = saveCities(worldMap, crawl);
+        Map<String, PlayerEntity> owners = resolveOwners(worldMap, crawl);
+
+        for (Map<String, Object> entry : worldMap) {
+            if (crawl.job().isCancelled()) {
+                return;
+            }
+
+            String key = String.valueOf(entry.get("option"));
+            if (crawl.frontier().isCompleted(key)) {
+                continue;
+            }
+
+            try {
+                CityEntity scraped = createCityFromData((Map<String, Object>) entry.get("details"));
+                CityEntity city = savedCities.get(scraped.getName());
+                if (city == null) {
+                    city = cityService.save(scraped);
+                }
+                System.out.println("      VILLE SAUVEGARDEE: " + city.getName());
+
+                List<Map<String, String>> parksData = (List<Map<String, String>>) entry.get("parks");
+                if (parksData != null) {
+                    for (Map<String, String> parkData : parksData) {
+                        updateParkWithCityAndOwner(parkData, city, owners);
+                    }
+                }
+                crawl.frontier().complete(key);
+                frontierService.checkpointIfDue(crawl.frontier());
+                crawl.job().recordPage(key, false);
+            } catch (Exception e) {
+                crawl.job().recordPage(key, true);
+                System.err.println("      ERREUR SAUVEGARDE VILLE: " + e.getMessage());
+            }
         }
     }
 
-    private void iterateCountriesAndCities(WebDriverWait wait) throws InterruptedException {
+    /**
+     * Saves the cities of the world map not visited yet in one batch.
+     * Cities missing from the result are saved one by one by persistWorldMap.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, CityEntity> saveCities(List<Map<String, Object>> worldMap, CityCrawl crawl) {
+        List<CityEntity> cities = new ArrayList<>();
+        for (Map<String, Object> entry : worldMap) {
+            if (crawl.frontier().isCompleted(String.valueOf(entry.get("option")))) {
+                continue;
+            }
+            try {
+                cities.add(createCityFromData((Map<String, Object>) entry.get("details")));
+            } catch (Exception e) {
+                System.err.println("      ERREUR LECTURE VILLE: " + e.getMessage());
+            }
+        }
+
+        try {
+            return cityService.saveAll(cities);
+        } catch (Exception e) {
+            System.err.println("ERREUR SAUVEGARDE GROUPEE DES VILLES: " + e.getMessage());
+            return new HashMap<>();
+        }
+    }
+
+    private void iterateCountriesAndCities(WebDriverWait wait, CityCrawl crawl) throws InterruptedException {
         WebElement countrySelectElement = wait.until(
             ExpectedConditions.presenceOfElementLocated(By.id(ScrapingConfig.Selectors.COUNTRY_SELECT))
         );
@@ -74,35 +249,49 @@ public class CityScraper extends BaseScraper {
         int countryCount = countrySelect.getOptions().size();
         System.out.println("NOMBRE DE PAYS: " + countryCount);
 
-        for (int countryIndex = 0; countryIndex < countryCount; countryIndex++) {
-            processCountry(countryIndex);
+        for (int countryIndex = 0; countryIndex < countryCount && !crawl.job().isCancelled(); countryIndex++) {
+            // Between two countries the dashboard poll may take the browser: the world map is then reloaded
+            if (yieldPrimaryDriver()) {
+                navigateTo(ScrapingConfig.WORLD_MAP_PAGE, ScrapingConfig.PageTypes.WORLD_MAP);
+                wait.until(ExpectedConditions.presenceOfElementLocated(By.id(ScrapingConfig.Selectors.COUNTRY_SELECT)));
+            }
+            processCountry(countryIndex, crawl);
         }
     }
 
-    private void processCountry(int countryIndex) throws InterruptedException {
+    private void processCountry(int countryIndex, CityCrawl crawl) throws InterruptedException {
         WebDriver driver = getDriver();
         Select countrySelect = new Select(driver.findElement(By.id(ScrapingConfig.Selectors.COUNTRY_SELECT)));
         String countryName = countrySelect.getOptions().get(countryIndex).getText();
 
         System.out.println("PAYS: " + countryName);
-        countrySelect.selectByIndex(countryIndex);
-        sleep(ScrapingConfig.COUNTRY_LOAD_DELAY_MS);
 
-        processCitiesInCountry();
+        // Selecting the option already shown does not reload the city list
+        if (!countrySelect.getFirstSelectedOption().getText().equals(countryName)) {
+            String previousCities = (String) executeScript(CityExtractionScripts.CITY_OPTIONS_SNAPSHOT);
+            countrySelect.selectByIndex(countryIndex);
+            waitUntilReady(
+                ScrapingConfig.PageTypes.COUNTRY,
+                scriptCondition(CityExtractionScripts.CITY_OPTIONS_CHANGED, previousCities),
+                ScrapingConfig.SELECT_READY_TIMEOUT_MS
+            );
+        }
+
+        processCitiesInCountry(crawl);
     }
 
-    private void processCitiesInCountry() throws InterruptedException {
+    private void processCitiesInCountry(CityCrawl crawl) throws InterruptedException {
         WebDriver driver = getDriver();
         Select citySelect = new Select(driver.findElement(By.id(ScrapingConfig.Selectors.CITY_SELECT)));
         int cityCount = citySelect.getOptions().size();
         System.out.println("  NOMBRE DE VILLES: " + cityCount);
 
-        for (int cityIndex = 0; cityIndex < cityCount; cityIndex++) {
-            processCity(cityIndex);
+        for (int cityIndex = 0; cityIndex < cityCount && !crawl.job().isCancelled(); cityIndex++) {
+            processCity(cityIndex, crawl);
         }
     }
 
-    private void processCity(int cityIndex) throws InterruptedException {
+    private void processCity(int cityIndex, CityCrawl crawl) throws InterruptedException {
         WebDriver driver = getDriver();
         Select citySelect = new Select(driver.findElement(By.id(ScrapingConfig.Selectors.CITY_SELECT)));
         List<WebElement> cityOptions = citySelect.getOptions();
@@ -112,15 +301,29 @@ public class CityScraper extends BaseScraper {
         }
 
         String cityFullName = cityOptions.get(cityIndex).getText();
+        if (crawl.frontier().isCompleted(cityFullName)) {
+            System.out.println("    VILLE DEJA TRAITEE: " + cityFullName);
+            return;
+        }
         System.out.println("    VILLE: " + cityFullName);
 
         citySelect.selectByIndex(cityIndex);
-        sleep(ScrapingConfig.CITY_LOAD_DELAY_MS);
+        waitUntilReady(
+            ScrapingConfig.PageTypes.CITY,
+            scriptCondition(CityExtractionScripts.CITY_INFO_SHOWS, cityFullName),
+            ScrapingConfig.SELECT_READY_TIMEOUT_MS
+        );
 
-        extractAndSaveCity();
+        if (extractAndSaveCity()) {
+            crawl.frontier().complete(cityFullName);
+            frontierService.checkpointIfDue(crawl.frontier());
+            crawl.job().recordPage(cityFullName, false);
+        } else {
+            crawl.job().recordPage(cityFullName, true);
+        }
     }
 
-    private void extractAndSaveCity() {
+    private boolean extractAndSaveCity() {
         try {
             Map<String, Object> cityDetails = executeScriptAsMap(CityExtractionScripts.CITY_DETAILS);
 
@@ -130,11 +333,13 @@ public class CityScraper extends BaseScraper {
                 System.out.println("      VILLE SAUVEGARDEE: " + city.getName());
 
                 extractAndUpdateParks(city);
+                return true;
             }
 
         } catch (Exception e) {
             System.err.println("      ERREUR EXTRACTION VILLE: " + e.getMessage());
         }
+        return false;
     }
 
     @SuppressWarnings("unchecked")
@@ -149,8 +354,11 @@ public class CityScraper extends BaseScraper {
 
             System.out.println("      PARCS TROUVES: " + parksData.size());
 
+            Map<String, PlayerEntity> owners = playerService.resolveOrCreate(
+                parksData.stream().map(parkData -> parkData.get("creator")).toList()
+            );
             for (Map<String, String> parkData : parksData) {
-                updateParkWithCityAndOwner(parkData, city);
+                updateParkWithCityAndOwner(parkData, city, owners);
             }
 
         } catch (Exception e) {
@@ -158,7 +366,30 @@ public class CityScraper extends BaseScraper {
         }
     }
 
-    private void updateParkWithCityAndOwner(Map<String, String> parkData, CityEntity city) {
+    /**
+     * Resolves the owners of every park of the world map not visited yet in one call.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, PlayerEntity> resolveOwners(List<Map<String, Object>> worldMap, CityCrawl crawl) {
+        List<String> creators = new ArrayList<>();
+        for (Map<String, Object> entry : worldMap) {
+            List<Map<String, String>> parksData = (List<Map<String, String>>) entry.get("parks");
+            if (parksData == null || crawl.frontier().isCompleted(String.valueOf(entry.get("option")))) {
+                continue;
+            }
+            for (Map<String, String> parkData : parksData) {
+                creators.add(parkData.get("creator"));
+            }
+        }
+        try {
+            return playerService.resolveOrCreate(creators);
+        } catch (Exception e) {
+            System.err.println("ERREUR RESOLUTION DES JOUEURS: " + e.getMessage());
+            return new HashMap<>();
+        }
+    }
+
+    private void updateParkWithCityAndOwner(Map<String, String> parkData, CityEntity city, Map<String, PlayerEntity> owners) {
         String parkName = parkData.get("name");
         String creatorName = parkData.get("creator");
 
@@ -168,7 +399,10 @@ public class CityScraper extends BaseScraper {
 
         PlayerEntity owner = null;
         if (creatorName != null && !creatorName.isEmpty()) {
-            owner = playerService.findOrCreate(creatorName);
+            owner = owners.get(creatorName);
+            if (owner == null) {
+                owner = playerService.findOrCreate(creatorName);
+            }
         }
 
         parkService.updateOwnerAndCity(parkName, owner, city);
@@ -189,7 +423,7 @@ public class CityScraper extends BaseScraper {
         Long totalSurface = calculateTotalSurface(availableSurface, data.get("fillRate").toString());
 
         int maxHeight = ScrapingParser.parseIntegerOrDefault(data.get("maxHeight"), 0);
-        int priceByMeter = ScrapingParser.parseMoney(data.get("pricePerM2"));
+        int priceByMeter = (int) ScrapingParser.parseLongOrDefault(data.get("pricePerM2"), 0L);
 
         String capacityStr = data.get("capacity").toString();
         int[] parkData = parseCapacity(capacityStr);
@@ -245,14 +479,45 @@ public class CityScraper extends BaseScraper {
         };
     }
 
+    /**
+     * State of one city crawl: its frontier, keyed by city option text, and the job it reports to.
+     * Kept per run rather than in fields, the scraper being a shared singleton.
+     */
+    private record CityCrawl(CrawlFrontier frontier, ScrapeJob job) {}
+
     /**
      * JavaScript extraction scripts for city data.
      * Separated into inner class for better organization.
      */
     private static final class CityExtractionScripts {
 
-        static final String CITY_DETAILS = """
-            return (function() {
+        static final String CITY_OPTIONS_SNAPSHOT = """
+            const select = document.getElementById('citySelect');
+            return select ? Array.from(select.options).map(o => o.text).join('|') : '';
+            """;
+
+        // Ready once the city list differs from the one of the previous country
+        static final String CITY_OPTIONS_CHANGED = """
+            const select = document.getElementById('citySelect');
+            if (!select || select.options.length === 0) return false;
+            return Array.from(select.options).map(o => o.text).join('|') !== arguments[0];
+            """;
+
+        // Ready once the info panel title is the selected city
+        static final String CITY_INFO_SHOWS = """
+            const title = document.querySelector('.world-map-city-info .world-map-city-title');
+            if (!title || title.childNodes.length === 0) return false;
+            const name = title.childNodes[0].textContent.trim();
+            return name.length > 0 && arguments[0].includes(name);
+            """;
+
+        // Keys of a city record, captured or read from the DOM
+        static final String[] CITY_FIELDS = {
+            "cityName", "country", "difficulty", "population", "surface", "fillRate", "pricePerM2", "capacity"
+        };
+
+        static final String READ_CITY_DETAILS_FUNCTION = """
+            function readCityDetails() {
                 const cityInfo = document.querySelector('.world-map-city-info');
                 if (!cityInfo) return null;
 
@@ -305,11 +570,11 @@ public class CityScraper extends BaseScraper {
                     maxHeight,
                     capacity
                 };
-            })();
+            }
             """;
 
-        static final String PARKS_LIST = """
-            return (function() {
+        static final String READ_PARKS_LIST_FUNCTION = """
+            function readParksList() {
                 const parcsContainer = document.querySelector('.world-map-parcs-items');
                 if (!parcsContainer) return [];
 
@@ -327,7 +592,66 @@ public class CityScraper extends BaseScraper {
                 }
 
                 return parcs;
-            })();
+            }
+            """;
+
+        static final String CITY_DETAILS = READ_CITY_DETAILS_FUNCTION + "return readCityDetails();";
+
+        static final String PARKS_LIST = READ_PARKS_LIST_FUNCTION + "return readParksList();";
+
+        // Drives both selects inside the page and reads every city in one asynchronous call.
+        // arguments[0]: wait timeout per select change (ms), last argument: Selenium callback.
+        static final String WORLD_MAP_BULK = READ_CITY_DETAILS_FUNCTION + READ_PARKS_LIST_FUNCTION + """
+            const done = arguments[arguments.length - 1];
+            const timeoutMs = arguments[0];
+
+            (async function() {
+                const countrySelect = document.getElementById('countrySelect');
+                const citySelect = document.getElementById('citySelect');
+                if (!countrySelect || !citySelect) return null;
+
+                const sleep = ms => new Promise(resolve => setTimeout(resolve, ms));
+                const waitFor = async (check) => {
+                    const start = Date.now();
+                    while (Date.now() - start < timeoutMs) {
+                        if (check()) return true;
+                        await sleep(20);
+                    }
+                    return false;
+                };
+                const cityOptions = () => Array.from(citySelect.options).map(o => o.text).join('|');
+                const select = (element, index) => {
+                    element.selectedIndex = index;
+                    element.dispatchEvent(new Event('change', { bubbles: true }));
+                };
+                const cityInfoShows = (optionText) => {
+                    const title = document.querySelector('.world-map-city-info .world-map-city-title');
+                    if (!title || title.childNodes.length === 0) return false;
+                    const name = title.childNodes[0].textContent.trim();
+                    return name.length > 0 && optionText.includes(name);
+                };
+
+                const cities = [];
+                for (let c = 0; c < countrySelect.options.length; c++) {
+                    if (countrySelect.selectedIndex !== c) {
+                        const previous = cityOptions();
+                        select(countrySelect, c);
+                        await waitFor(() => citySelect.options.length > 0 && cityOptions() !== previous);
+                    }
+
+                    for (let i = 0; i < citySelect.options.length; i++) {
+                        const optionText = citySelect.options[i].text;
+                        select(citySelect, i);
+                        await waitFor(() => cityInfoShows(optionText));
+
+                        const details = readCityDetails();
+                        if (details) {
+                            cities.push({ option: optionText, details: details, parks: readParksList() });
+                        }
+                    }
+                }
+                return cities;
+            })().then(done, () => done(null));
             """;
 
         private CityExtractionScripts() {}
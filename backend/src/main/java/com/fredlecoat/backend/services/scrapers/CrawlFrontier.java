@@ -0,0 +1,134 @@
+package com.fredlecoat.backend.services.scrapers;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.fredlecoat.backend.configuration.ScrapingConfig;
+
+/**
+ * Progress of one crawl: ids (or keys, for crawls without numeric ids)
+ * in flight, completed, found and failed. Pending items are those the
+ * crawl plans and that are not completed yet.
+ *
+ * A crawl resumed after a crash starts from the last checkpoint: completed
+ * items are skipped, leased and failed ones are visited again. Safe to share
+ * between the workers of a crawl.
+ */
+public class CrawlFrontier {
+
+    public static final String PARKS = "park";
+    public static final String CITIES = "city";
+    public static final String RIDES = "ride";
+
+    // Scheduled re-scrapes of changing parks: never persisted
+    public static final String RECRAWL = "recrawl";
+
+    private final String crawlType;
+    private final boolean resumed;
+
+    private final BitSet leased = new BitSet();
+    private final BitSet completed;
+    private final BitSet found;
+    private final BitSet failed;
+    private final Set<String> completedKeys;
+
+    private int changesSinceCheckpoint = 0;
+    private long lastCheckpointMillis = System.currentTimeMillis();
+
+    public CrawlFrontier(String crawlType, boolean resumed, BitSet completed, BitSet found, BitSet failed, Set<String> completedKeys) {
+        this.crawlType = crawlType;
+        this.resumed = resumed;
+        this.completed = completed;
+        this.found = found;
+        this.failed = failed;
+        this.completedKeys = new HashSet<>(completedKeys);
+    }
+
+    public static CrawlFrontier fresh(String crawlType) {
+        return new CrawlFrontier(crawlType, false, new BitSet(), new BitSet(), new BitSet(), Set.of());
+    }
+
+    public String getCrawlType() {
+        return crawlType;
+    }
+
+    public boolean isResumed() {
+        return resumed;
+    }
+
+    public synchronized boolean isCompleted(int id) {
+        return completed.get(id);
+    }
+
+    public synchronized boolean wasFound(int id) {
+        return found.get(id);
+    }
+
+    public synchronized boolean isCompleted(String key) {
+        return completedKeys.contains(key);
+    }
+
+    public synchronized void lease(int id) {
+        leased.set(id);
+    }
+
+    /**
+     * Marks an id as visited: the page was fetched and handled, whether it held something or not.
+     */
+    public synchronized void complete(int id, boolean wasFound) {
+        leased.clear(id);
+        failed.clear(id);
+        completed.set(id);
+        if (wasFound) {
+            found.set(id);
+        }
+        changesSinceCheckpoint++;
+    }
+
+    public synchronized void complete(String key) {
+        if (completedKeys.add(key)) {
+            changesSinceCheckpoint++;
+        }
+    }
+
+    public synchronized void fail(int id) {
+        leased.clear(id);
+        failed.set(id);
+        changesSinceCheckpoint++;
+    }
+
+    public synchronized int getCompletedCount() {
+        return completed.cardinality() + completedKeys.size();
+    }
+
+    public synchronized int getFailedCount() {
+        return failed.cardinality();
+    }
+
+    /**
+     * True when enough has changed, or enough time passed, since the last checkpoint.
+     */
+    public synchronized boolean isCheckpointDue() {
+        return changesSinceCheckpoint >= ScrapingConfig.FRONTIER_CHECKPOINT_EVERY
+            || (changesSinceCheckpoint > 0
+                && System.currentTimeMillis() - lastCheckpointMillis >= ScrapingConfig.FRONTIER_CHECKPOINT_INTERVAL_MS);
+    }
+
+    /**
+     * Returns a consistent copy of the state to persist and resets the checkpoint counters.
+     */
+    public synchronized Snapshot snapshot() {
+        changesSinceCheckpoint = 0;
+        lastCheckpointMillis = System.currentTimeMillis();
+        return new Snapshot(
+            completed.toByteArray(),
+            found.toByteArray(),
+            failed.toByteArray(),
+            leased.toByteArray(),
+            String.join("\n", completedKeys)
+        );
+    }
+
+    public record Snapshot(byte[] completedIds, byte[] foundIds, byte[] failedIds, byte[] leasedIds, String completedKeys) {}
+}
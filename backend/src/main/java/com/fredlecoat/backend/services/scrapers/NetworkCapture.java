@@ -0,0 +1,206 @@
+package com.fredlecoat.backend.services.scrapers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.fredlecoat.backend.configuration.NetworkCaptureConfig;
+import com.fredlecoat.backend.entities.dtos.CapturedResponse;
+
+/**
+ * Opt-in capture of the JSON responses the game loads for itself.
+ *
+ * A hook registered through DevTools (Page.addScriptToEvaluateOnNewDocument)
+ * wraps fetch and XMLHttpRequest in every page before the game scripts run,
+ * and keeps the parsed body of each JSON response in the page. Scrapers drain
+ * them after the page is ready, filtered by the URL patterns configured for
+ * the page type, and look for the records they need in the payloads. When
+ * nothing usable was captured they fall back to reading the DOM.
+ */
+@Component
+public class NetworkCapture {
+
+    private static final String CAPTURE_HOOK = """
+        (function() {
+            if (window.__tpiNetworkCapture) return;
+            window.__tpiNetworkCapture = [];
+            const maxLength = __MAX_BODY_LENGTH__;
+
+            const keep = (url, status, contentType, text) => {
+                if (!text || text.length > maxLength) return;
+                if (contentType && !contentType.includes('json')) return;
+                try {
+                    window.__tpiNetworkCapture.push({ url: String(url), status: status, payload: JSON.parse(text) });
+                } catch (e) {}
+            };
+
+            const originalFetch = window.fetch;
+            if (originalFetch) {
+                window.fetch = function() {
+                    return originalFetch.apply(this, arguments).then(response => {
+                        response.clone().text()
+                            .then(text => keep(response.url, response.status, response.headers.get('content-type'), text))
+                            .catch(() => {});
+                        return response;
+                    });
+                };
+            }
+
+            const originalOpen = XMLHttpRequest.prototype.open;
+            XMLHttpRequest.prototype.open = function(method, url) {
+                this.addEventListener('load', () => {
+                    if (this.responseType === '' || this.responseType === 'text') {
+                        keep(this.responseURL || url, this.status, this.getResponseHeader('content-type'), this.responseText);
+                    }
+                });
+                return originalOpen.apply(this, arguments);
+            };
+        })();
+        """;
+
+    private static final String DRAIN = """
+        const captured = window.__tpiNetworkCapture || [];
+        if (window.__tpiNetworkCapture) window.__tpiNetworkCapture = [];
+        return captured;
+        """;
+
+    private final NetworkCaptureConfig captureConfig;
+
+    // Browsers the hook was registered on (weak keys: recycled browsers are dropped)
+    private final Set<WebDriver> installed = Collections.newSetFromMap(Collections.synchronizedMap(new WeakHashMap<>()));
+
+    @Autowired
+    public NetworkCapture(NetworkCaptureConfig captureConfig) {
+        this.captureConfig = captureConfig;
+    }
+
+    public boolean isEnabled() {
+        return captureConfig.isEnabled();
+    }
+
+    /**
+     * Registers the capture hook on the browser, once. Takes effect from the next page load.
+     */
+    public void install(WebDriver driver) {
+        if (!isEnabled() || !(driver instanceof HasCdp cdp) || installed.contains(driver)) {
+            return;
+        }
+
+        try {
+            String source = CAPTURE_HOOK.replace("__MAX_BODY_LENGTH__", String.valueOf(captureConfig.getMaxBodyLength()));
+            cdp.executeCdpCommand("Page.enable", Map.of());
+            cdp.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument", Map.of("source", source));
+            installed.add(driver);
+        } catch (Exception e) {
+            System.err.println("ERREUR INSTALLATION CAPTURE RESEAU: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns and forgets the responses captured so far on the current page
+     * whose URL matches the patterns configured for the page type.
+     */
+    @SuppressWarnings("unchecked")
+    public List<CapturedResponse> drain(WebDriver driver, String pageType) {
+        List<CapturedResponse> responses = new ArrayList<>();
+        if (!isEnabled() || !installed.contains(driver)) {
+            return responses;
+        }
+
+        try {
+            Object result = ((JavascriptExecutor) driver).executeScript(DRAIN);
+            if (!(result instanceof List<?> entries)) {
+                return responses;
+            }
+
+            List<String> patterns = captureConfig.getUrlPatterns().getOrDefault(pageType, List.of());
+            for (Object entry : entries) {
+                Map<String, Object> captured = (Map<String, Object>) entry;
+                String url = String.valueOf(captured.get("url"));
+                if (matches(url, patterns)) {
+                    Number status = (Number) captured.get("status");
+                    responses.add(new CapturedResponse(url, status != null ? status.intValue() : 0, captured.get("payload")));
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("ERREUR LECTURE CAPTURE RESEAU: " + e.getMessage());
+        }
+        return responses;
+    }
+
+    /**
+     * Finds, anywhere in the captured payloads, the objects carrying all the given keys.
+     * Records are taken from the largest matching array, so that a list of items wins
+     * over a single item echoed elsewhere in the response.
+     */
+    public List<Map<String, Object>> findRecords(List<CapturedResponse> responses, String... requiredKeys) {
+        List<Map<String, Object>> best = new ArrayList<>();
+        for (CapturedResponse response : responses) {
+            List<Map<String, Object>> found = findRecords(response.payload(), requiredKeys);
+            if (found.size() > best.size()) {
+                best = found;
+            }
+        }
+        return best;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> findRecords(Object node, String[] requiredKeys) {
+        List<Map<String, Object>> best = new ArrayList<>();
+
+        Collection<?> children;
+        if (node instanceof List<?> list) {
+            List<Map<String, Object>> records = new ArrayList<>();
+            for (Object item : list) {
+                if (item instanceof Map<?, ?> map && hasKeys(map, requiredKeys)) {
+                    records.add((Map<String, Object>) map);
+                }
+            }
+            best = records;
+            children = list;
+        } else if (node instanceof Map<?, ?> map) {
+            children = map.values();
+        } else {
+            return best;
+        }
+
+        for (Object child : children) {
+            List<Map<String, Object>> found = findRecords(child, requiredKeys);
+            if (found.size() > best.size()) {
+                best = found;
+            }
+        }
+        return best;
+    }
+
+    private boolean hasKeys(Map<?, ?> map, String[] keys) {
+        for (String key : keys) {
+            if (map.get(key) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean matches(String url, List<String> patterns) {
+        if (patterns.isEmpty()) {
+            return true;
+        }
+        for (String pattern : patterns) {
+            if (url.contains(pattern)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
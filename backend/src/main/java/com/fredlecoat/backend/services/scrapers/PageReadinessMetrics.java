@@ -0,0 +1,100 @@
+package com.fredlecoat.backend.services.scrapers;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+import com.fredlecoat.backend.configuration.ScrapingConfig;
+import com.fredlecoat.backend.entities.dtos.PageReadinessStats;
+
+/**
+ * Histogram of actual page ready times, per page type.
+ *
+ * Each page type is compared against the fixed delay it used to sleep
+ * (see ScrapingConfig.PageTypes.baselineDelayMs), which gives the
+ * wall-clock time saved by waiting on conditions instead.
+ */
+@Component
+public class PageReadinessMetrics {
+
+    // Upper bounds (inclusive, in ms) of the histogram buckets; the last bucket is unbounded
+    private static final long[] BUCKET_BOUNDS_MS = {25, 50, 100, 250, 500, 1000, 2500, 5000};
+
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+    public void record(String pageType, long elapsedNanos) {
+        histogram(pageType).add(elapsedNanos / 1_000_000, false);
+    }
+
+    public void recordTimeout(String pageType, long elapsedNanos) {
+        histogram(pageType).add(elapsedNanos / 1_000_000, true);
+    }
+
+    public List<PageReadinessStats> getStats() {
+        List<PageReadinessStats> stats = new ArrayList<>();
+        histograms.forEach((pageType, histogram) -> stats.add(histogram.toStats(pageType)));
+        return stats;
+    }
+
+    private Histogram histogram(String pageType) {
+        return histograms.computeIfAbsent(pageType, type -> new Histogram(ScrapingConfig.PageTypes.baselineDelayMs(type)));
+    }
+
+    private static final class Histogram {
+        final int baselineDelayMs;
+        final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_MS.length + 1];
+        final LongAdder count = new LongAdder();
+        final LongAdder timeouts = new LongAdder();
+        final LongAdder totalMs = new LongAdder();
+        final LongAdder savedMs = new LongAdder();
+        final AtomicLong maxMs = new AtomicLong();
+
+        Histogram(int baselineDelayMs) {
+            this.baselineDelayMs = baselineDelayMs;
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void add(long elapsedMs, boolean timedOut) {
+            int bucket = 0;
+            while (bucket < BUCKET_BOUNDS_MS.length && elapsedMs > BUCKET_BOUNDS_MS[bucket]) {
+                bucket++;
+            }
+            buckets[bucket].increment();
+            count.increment();
+            totalMs.add(elapsedMs);
+            savedMs.add(baselineDelayMs - elapsedMs);
+            maxMs.accumulateAndGet(elapsedMs, Math::max);
+            if (timedOut) {
+                timeouts.increment();
+            }
+        }
+
+        PageReadinessStats toStats(String pageType) {
+            Map<String, Long> histogram = new LinkedHashMap<>();
+            for (int i = 0; i < buckets.length; i++) {
+                String label = i < BUCKET_BOUNDS_MS.length ? "<=" + BUCKET_BOUNDS_MS[i] + "ms" : ">" + BUCKET_BOUNDS_MS[i - 1] + "ms";
+                histogram.put(label, buckets[i].sum());
+            }
+
+            long samples = count.sum();
+            return new PageReadinessStats(
+                pageType,
+                samples,
+                timeouts.sum(),
+                samples > 0 ? (double) totalMs.sum() / samples : 0.0,
+                maxMs.get(),
+                histogram,
+                baselineDelayMs,
+                savedMs.sum()
+            );
+        }
+    }
+}
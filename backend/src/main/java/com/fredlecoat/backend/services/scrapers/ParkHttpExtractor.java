@@ -0,0 +1,152 @@
+package com.fredlecoat.backend.services.scrapers;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jsoup.Connection;
+import org.jsoup.HttpStatusException;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.fredlecoat.backend.configuration.HttpScrapingConfig;
+import com.fredlecoat.backend.configuration.ScrapingConfig;
+import com.fredlecoat.backend.configuration.WebSiteAccessConfig;
+import com.fredlecoat.backend.services.SessionService;
+
+/**
+ * Browserless extractor for park pages.
+ *
+ * Fetches the server-rendered park page over plain HTTP with the cookies of
+ * the shared session and parses it with jsoup. If the session expired, it is
+ * restored once and the page fetched again. The result has the same
+ * shape as ParkExtractionScripts.PARK_DETAILS so ParkScraper persists it
+ * through the same code path. Requests are paced by the shared rate
+ * limiter. Safe to call from many threads at once.
+ */
+@Component
+public class ParkHttpExtractor {
+
+    private final WebSiteAccessConfig accessConfig;
+    private final HttpScrapingConfig httpConfig;
+    private final SessionService sessionService;
+    private final AdaptiveRateLimiter rateLimiter;
+
+    @Autowired
+    public ParkHttpExtractor(
+        WebSiteAccessConfig accessConfig,
+        HttpScrapingConfig httpConfig,
+        SessionService sessionService,
+        AdaptiveRateLimiter rateLimiter
+    ) {
+        this.accessConfig = accessConfig;
+        this.httpConfig = httpConfig;
+        this.sessionService = sessionService;
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * Fetches and parses a park page.
+     * Returns null when the page holds no park.
+     */
+    public Map<String, Object> fetchPark(int parkId) throws IOException {
+        return extractPark(fetchDocument(parkId));
+    }
+
+    /**
+     * Fetches a park page without parsing it, logging back in if the session expired.
+     */
+    public Document fetchDocument(int parkId) throws IOException {
+        long generation = sessionService.getGeneration();
+        Document document = fetch(ScrapingConfig.PARK_PAGE_TEMPLATE + parkId);
+
+        if (sessionService.isLoginPage(document)) {
+            sessionService.restore(null, generation);
+            document = fetch(ScrapingConfig.PARK_PAGE_TEMPLATE + parkId);
+        }
+        return document;
+    }
+
+    /**
+     * Fetches a page through the rate limiter. Server errors and throttling
+     * responses (429) count as congestion signals.
+     * Any non-2xx status other than 404 is thrown as an HttpStatusException, so that
+     * the page is retried or counted as a failure rather than read as a missing park.
+     */
+    private Document fetch(String relativePath) throws IOException {
+        rateLimiter.acquire();
+        long start = System.nanoTime();
+        try {
+            Connection.Response response = Jsoup.connect(accessConfig.getUrl() + relativePath)
+                .cookies(sessionService.getCookies())
+                .userAgent(ScrapingConfig.USER_AGENT)
+                .timeout(httpConfig.getTimeoutMs())
+                .ignoreHttpErrors(true)
+                .execute();
+            int status = response.statusCode();
+            rateLimiter.onResponse(System.nanoTime() - start, status >= 500 || status == 429);
+            if ((status < 200 || status >= 300) && status != 404) {
+                throw new HttpStatusException("HTTP " + status, status, response.url().toString());
+            }
+            return response.parse();
+        } catch (HttpStatusException e) {
+            throw e;
+        } catch (IOException e) {
+            rateLimiter.onResponse(System.nanoTime() - start, true);
+            throw e;
+        }
+    }
+
+    /**
+     * Parses a park page, mirroring ParkExtractionScripts.PARK_DETAILS.
+     */
+    public Map<String, Object> extractPark(Document document) {
+        Element hero = document.selectFirst(ScrapingConfig.Selectors.PARK_HERO);
+        if (hero == null) {
+            return null;
+        }
+
+        Element titleElem = hero.selectFirst(ScrapingConfig.Selectors.PARK_TITLE);
+        String name = titleElem != null ? titleElem.text().trim() : null;
+        if (name == null || name.isEmpty()) {
+            return null;
+        }
+
+        Element locationElem = hero.selectFirst(ScrapingConfig.Selectors.PARK_LOCATION);
+        String location = locationElem != null ? locationElem.text().trim() : null;
+
+        Map<String, String> stats = new HashMap<>();
+        for (Element card : document.select(ScrapingConfig.Selectors.PARK_STATS_CARD)) {
+            Element titleEl = card.selectFirst(ScrapingConfig.Selectors.PARK_STATS_TITLE);
+            Element valueEl = card.selectFirst(ScrapingConfig.Selectors.PARK_STATS_VALUE);
+            if (titleEl != null && valueEl != null) {
+                stats.put(titleEl.text().trim(), valueEl.text().trim());
+            }
+        }
+
+        List<Map<String, Object>> attractions = new ArrayList<>();
+        for (Element card : document.select(ScrapingConfig.Selectors.ATTRACTION_CARD)) {
+            Element imgEl = card.selectFirst(ScrapingConfig.Selectors.ATTRACTION_IMAGE);
+            Map<String, Object> attraction = new HashMap<>();
+            attraction.put("imageUrl", imgEl != null && imgEl.hasAttr("src") ? imgEl.attr("src") : null);
+            attractions.add(attraction);
+        }
+
+        Map<String, Object> park = new HashMap<>();
+        park.put("name", name);
+        park.put("location", location);
+        park.put("owner", null);
+        park.put("attractions", attractions);
+        park.put("capital", stats.get(ScrapingConfig.StatsLabels.CAPITAL));
+        park.put("socialCapital", stats.get(ScrapingConfig.StatsLabels.SOCIAL_CAPITAL));
+        park.put("yesterdayVisitors", stats.get(ScrapingConfig.StatsLabels.YESTERDAY_VISITORS));
+        park.put("usedSurface", stats.get(ScrapingConfig.StatsLabels.USED_SURFACE));
+        park.put("note", stats.get(ScrapingConfig.StatsLabels.NOTE));
+        return park;
+    }
+}
@@ -1,19 +1,34 @@
 package com.fredlecoat.backend.services.scrapers;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import org.jsoup.nodes.Document;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import com.fredlecoat.backend.configuration.HttpScrapingConfig;
+import com.fredlecoat.backend.configuration.ParkPipelineConfig;
 import com.fredlecoat.backend.configuration.ScrapingConfig;
 import com.fredlecoat.backend.entities.CityEntity;
 import com.fredlecoat.backend.entities.ParkEntity;
+import com.fredlecoat.backend.entities.dtos.PipelineStageStats;
+import com.fredlecoat.backend.entities.dtos.ScrapedPark;
 import com.fredlecoat.backend.services.CityService;
+import com.fredlecoat.backend.services.CrawlFrontierService;
+import com.fredlecoat.backend.services.ParkIdIndexService;
 import com.fredlecoat.backend.services.ParkService;
+import com.fredlecoat.backend.services.WebDriverPool;
 import com.fredlecoat.backend.utils.ScrapingParser;
+import com.fredlecoat.backend.values.ScrapeJobType;
+import com.fredlecoat.backend.values.ScrapingEngine;
 
 /**
  * Scraper for extracting park data from individual park pages.
@@ -25,6 +40,19 @@ import com.fredlecoat.backend.utils.ScrapingParser;
  * - Delegate persistence to ParkService
  *
  * Note: This scraper runs in a background thread to avoid blocking.
+ * When the WebDriver pool holds more than one browser, the id space is
+ * sharded across one worker per browser (see WorkStealingIdQueue).
+ * With the HTTP engine, pages are fetched without a browser by
+ * ParkHttpExtractor, one virtual thread per concurrent fetch.
+ * Once the park id index knows some parks, crawls only visit live and
+ * unknown ids plus a batch of re-probed gaps, up to the highest id found
+ * by galloping search, instead of running into MAX_CONSECUTIVE_ERRORS misses.
+ * Progress is checkpointed in a CrawlFrontier: after a crash, the next crawl
+ * skips the ids already visited by the interrupted one.
+ * Parallel crawls run as a pipeline: workers only fetch, and hand pages over
+ * to extraction (HTTP engine) and persistence stages through bounded queues,
+ * so that no browser or connection waits on a database round trip.
+ * In bulk mode, the persistence stage saves parks by batches (ParkService.saveAll).
  */
 @Component
 public class ParkScraper extends BaseScraper {
@@ -34,11 +62,35 @@ public class ParkScraper extends BaseScraper {
 
     private final ParkService parkService;
     private final CityService cityService;
+    private final WebDriverPool webDriverPool;
+    private final ParkHttpExtractor httpExtractor;
+    private final HttpScrapingConfig httpConfig;
+    private final ParkIdIndexService parkIdIndex;
+    private final CrawlFrontierService frontierService;
+    private final ParkPipelineConfig pipelineConfig;
+
+    // Stages of the running crawl, or of the last one, for the metrics endpoint
+    private volatile ParkPipeline pipeline;
 
     @Autowired
-    public ParkScraper(ParkService parkService, CityService cityService) {
+    public ParkScraper(
+        ParkService parkService,
+        CityService cityService,
+        WebDriverPool webDriverPool,
+        ParkHttpExtractor httpExtractor,
+        HttpScrapingConfig httpConfig,
+        ParkIdIndexService parkIdIndex,
+        CrawlFrontierService frontierService,
+        ParkPipelineConfig pipelineConfig
+    ) {
         this.parkService = parkService;
         this.cityService = cityService;
+        this.webDriverPool = webDriverPool;
+        this.httpExtractor = httpExtractor;
+        this.httpConfig = httpConfig;
+        this.parkIdIndex = parkIdIndex;
+        this.frontierService = frontierService;
+        this.pipelineConfig = pipelineConfig;
     }
 
     @Override
@@ -51,17 +103,34 @@ public class ParkScraper extends BaseScraper {
     }
 
     public void scrapeAllParks(int startId) {
-        if (isRunning.get()) {
-            System.out.println("SCRAPING DEJA EN COURS");
-            return;
-        }
+        scrapeAllParks(startId, ScrapingEngine.BROWSER);
+    }
 
-        Thread scraperThread = new Thread(() -> runScrapingLoop(startId));
+    public void scrapeAllParks(int startId, ScrapingEngine engine) {
+        Thread scraperThread = new Thread(() -> crawlParks(startId, engine, ScrapeJob.detached(ScrapeJobType.PARKS)));
         scraperThread.setName("ParkScraper-Thread");
         scraperThread.setDaemon(true);
         scraperThread.start();
     }
 
+    /**
+     * Runs a full park crawl on the calling thread, reporting to the job.
+     * Returns false without crawling if another park crawl is already running.
+     */
+    public boolean crawlParks(int startId, ScrapingEngine engine, ScrapeJob job) {
+        if (!isRunning.compareAndSet(false, true)) {
+            System.out.println("SCRAPING DEJA EN COURS");
+            return false;
+        }
+
+        if (engine == ScrapingEngine.HTTP || webDriverPool.size() > 1 || parkIdIndex.hasData()) {
+            runShardedScraping(startId, ScrapingConfig.MAX_PARK_ID, engine, job);
+        } else {
+            runScrapingLoop(startId, job);
+        }
+        return true;
+    }
+
     public void stopScraping() {
         isRunning.set(false);
         System.out.println("ARRET DU SCRAPING DEMANDE");
@@ -75,125 +144,505 @@ public class ParkScraper extends BaseScraper {
         return isRunning.get();
     }
 
-    private void runScrapingLoop(int startId) {
-        isRunning.set(true);
+    public List<PipelineStageStats> getPipelineStats() {
+        ParkPipeline current = pipeline;
+        return current != null ? current.getStats() : List.of();
+    }
+
+    private void runScrapingLoop(int startId, ScrapeJob job) {
         currentParkId.set(startId);
+        if (webDriverPool.leasePrimary() == null) {
+            job.reportFailure("Navigateur principal occupe");
+            System.err.println("NAVIGATEUR PRINCIPAL OCCUPE, SCRAPING DES PARCS ANNULE");
+            isRunning.set(false);
+            return;
+        }
 
-        ScrapingProgress progress = new ScrapingProgress();
+        ScrapingProgress progress = new ScrapingProgress(frontierService.resume(CrawlFrontier.PARKS), job);
         System.out.println("DEBUT SCRAPING DES PARCS (ID de depart: " + startId + ")");
 
         try {
+            startPipeline(ScrapingEngine.BROWSER, 1, progress);
             while (shouldContinueScraping(progress)) {
                 int parkId = currentParkId.getAndIncrement();
-                processPark(parkId, progress);
-                sleep(ScrapingConfig.DELAY_BETWEEN_PARKS_MS);
+                if (skipVisited(parkId, progress)) {
+                    continue;
+                }
+                processPark(parkId, ScrapingEngine.BROWSER, progress);
+                webDriverPool.recycleIdleDrivers();
             }
+            closePipeline(progress);
 
             logScrapingEnd(progress);
+            endCrawl(progress);
 
         } catch (Exception e) {
+            job.reportFailure(e.getMessage());
             System.err.println("ERREUR FATALE SCRAPING: " + e.getMessage());
             e.printStackTrace();
         } finally {
+            closePipeline(progress);
+            webDriverPool.release();
             isRunning.set(false);
+            if (!progress.finished) {
+                frontierService.checkpoint(progress.frontier);
+            }
+            checkpointIndex();
             System.out.println("SCRAPING DES PARCS TERMINE");
         }
     }
 
-    private boolean shouldContinueScraping(ScrapingProgress progress) {
-        return isRunning.get()
-            && progress.consecutiveErrors < ScrapingConfig.MAX_CONSECUTIVE_ERRORS
-            && progress.successCount < ScrapingConfig.MAX_PARK_AMOUNT;
+    /**
+     * Crawls from startId with several concurrent workers: one per pooled
+     * browser, or httpConfig.concurrency virtual threads for the HTTP engine.
+     * Workers share the id space through a work-stealing queue that stops
+     * handing out ids after MAX_CONSECUTIVE_ERRORS misses past the last park found.
+     * Without a park id index, the queue holds [startId, endId]. With a populated
+     * index, it holds the planned ids up to the highest id found by probing.
+     */
+    private void runShardedScraping(int startId, int endId, ScrapingEngine engine, ScrapeJob job) {
+        currentParkId.set(startId);
+
+        int workers = engine == ScrapingEngine.HTTP ? httpConfig.getConcurrency() : webDriverPool.size();
+        ScrapingProgress progress = new ScrapingProgress(frontierService.resume(CrawlFrontier.PARKS), job);
+        WorkStealingIdQueue queue = createIdQueue(startId, endId, engine, workers, progress);
+        job.setTotalPages(queue.size());
+        System.out.println("DEBUT SCRAPING PARALLELE DES PARCS (" + engine + ", " + workers + " workers, " + queue.size() + " ids a partir de " + startId + ")");
+
+        try {
+            runWorkers(queue, engine, workers, progress);
+
+            if (queue.isExhausted()) {
+                System.out.println("ARRET: " + ScrapingConfig.MAX_CONSECUTIVE_ERRORS + " erreurs consecutives");
+            }
+            endCrawl(progress);
+
+        } finally {
+            isRunning.set(false);
+            if (!progress.finished) {
+                frontierService.checkpoint(progress.frontier);
+            }
+            checkpointIndex();
+            System.out.println("SCRAPING PARALLELE DES PARCS TERMINE (" + progress.successCount.get() + " parcs)");
+        }
+    }
+
+    /**
+     * Re-scrapes the given parks and waits for the end, reporting to the job, without touching the crawl frontier.
+     * Returns the number of parks found, or -1 if another crawl is already running.
+     */
+    public int scrapeParks(int[] parkIds, ScrapingEngine engine, ScrapeJob job) {
+        if (!isRunning.compareAndSet(false, true)) {
+            System.out.println("SCRAPING DEJA EN COURS");
+            return -1;
+        }
+
+        int[] ids = parkIds.clone();
+        Arrays.sort(ids);
+        int workers = engine == ScrapingEngine.HTTP ? httpConfig.getConcurrency() : webDriverPool.size();
+        ScrapingProgress progress = new ScrapingProgress(CrawlFrontier.fresh(CrawlFrontier.RECRAWL), job);
+        WorkStealingIdQueue queue = new WorkStealingIdQueue(ids, workers, ScrapingConfig.PARK_SHARD_BLOCK_SIZE, Integer.MAX_VALUE);
+        System.out.println("DEBUT RE-SCRAPING DE " + ids.length + " PARCS (" + engine + ")");
+
+        try {
+            runWorkers(queue, engine, workers, progress);
+        } finally {
+            isRunning.set(false);
+            checkpointIndex();
+            System.out.println("RE-SCRAPING DES PARCS TERMINE (" + progress.successCount.get() + " parcs)");
+        }
+        return progress.successCount.get();
     }
 
-    private void processPark(int parkId, ScrapingProgress progress) {
+    /**
+     * Runs the fetch workers and waits until the downstream stages handled every page they fetched.
+     */
+    private void runWorkers(WorkStealingIdQueue queue, ScrapingEngine engine, int workers, ScrapingProgress progress) {
+        progress.queue = queue;
+        startPipeline(engine, workers, progress);
+        ExecutorService executor = createWorkerExecutor(engine, workers);
+
         try {
-            boolean success = scrapePark(parkId);
-
-            if (success) {
-                progress.consecutiveErrors = 0;
-                progress.successCount++;
-            } else {
-                progress.consecutiveErrors++;
-                System.out.println("  Parc " + parkId + " non trouve (" +
-                    progress.consecutiveErrors + "/" + ScrapingConfig.MAX_CONSECUTIVE_ERRORS + ")");
+            for (int worker = 0; worker < workers; worker++) {
+                final int shard = worker;
+                executor.submit(() -> runShardWorker(shard, engine, queue, progress));
             }
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        } finally {
+            closePipeline(progress);
+        }
+    }
+
+    /**
+     * Starts the extraction and persistence stages fed by the fetch workers.
+     * Browsers extract in the page, so the browser engine has no extraction stage.
+     */
+    private void startPipeline(ScrapingEngine engine, int fetchers, ScrapingProgress progress) {
+        if (!pipelineConfig.isEnabled()) {
+            return;
+        }
+
+        int capacity = pipelineConfig.getQueueCapacity();
+        PipelineStage<ExtractedPark> persist = pipelineConfig.isBulkPersist()
+            ? PipelineStage.startBatched(
+                "persist-bulk", pipelineConfig.getPersistConcurrency(), capacity, pipelineConfig.getPersistBatchSize(),
+                batch -> persistParks(batch, progress)
+            )
+            : PipelineStage.start(
+                "persist", pipelineConfig.getPersistConcurrency(), capacity,
+                park -> persistPark(park.parkId(), park.data(), progress)
+            );
+        PipelineStage<FetchedPage> extract = engine == ScrapingEngine.HTTP
+            ? PipelineStage.start(
+                "extract", pipelineConfig.getExtractConcurrency(), capacity,
+                page -> extractPage(page, progress)
+            )
+            : null;
+
+        progress.pipeline = new ParkPipeline(PipelineStage.metered("fetch", fetchers), extract, persist);
+        pipeline = progress.pipeline;
+    }
+
+    /**
+     * Waits for the pages already handed over to be extracted, then saved.
+     */
+    private void closePipeline(ScrapingProgress progress) {
+        ParkPipeline current = progress.pipeline;
+        if (current == null) {
+            return;
+        }
+
+        try {
+            if (current.extract() != null) {
+                current.extract().close();
+            }
+            current.persist().close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private WorkStealingIdQueue createIdQueue(int startId, int endId, ScrapingEngine engine, int workers, ScrapingProgress progress) {
+        if (!parkIdIndex.hasData()) {
+            return WorkStealingIdQueue.ofRange(
+                startId, endId, workers, ScrapingConfig.PARK_SHARD_BLOCK_SIZE, ScrapingConfig.MAX_CONSECUTIVE_ERRORS
+            );
+        }
+
+        // Probes run before the pipeline starts: they are processed on the calling thread.
+        // The probes bound the range, not endId, which only caps the blind range crawl
+        int highestId = findHighestParkId(engine, progress);
+        int[] ids = parkIdIndex.planCrawl(startId, highestId);
+        // The plan already ends at the highest id: skipped gaps must not trigger the miss cutoff
+        return new WorkStealingIdQueue(ids, workers, ScrapingConfig.PARK_SHARD_BLOCK_SIZE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Probes past the highest known park for the end of the id space.
+     * Probed pages are scraped and saved like any other.
+     */
+    private int findHighestParkId(ScrapingEngine engine, ScrapingProgress progress) {
+        boolean usesBrowser = engine == ScrapingEngine.BROWSER;
+        if (usesBrowser && webDriverPool.lease() == null) {
+            return parkIdIndex.getHighestLiveId();
+        }
+
+        try {
+            return parkIdIndex.findHighestId(parkId -> processPark(parkId, engine, progress));
+        } finally {
+            if (usesBrowser) {
+                webDriverPool.release();
+            }
+        }
+    }
+
+    /**
+     * Closes the frontier of a crawl that ran to its end. A crawl stopped on request
+     * keeps its frontier open (checkpointed), so the next one resumes it.
+     */
+    private void endCrawl(ScrapingProgress progress) {
+        if (isRunning.get() && !progress.job.isCancelled() && !Thread.currentThread().isInterrupted()) {
+            frontierService.finish(progress.frontier);
+            progress.finished = true;
+        }
+    }
+
+    /**
+     * Skips an id already visited by the interrupted crawl being resumed,
+     * counting it as the original visit did.
+     */
+    private boolean skipVisited(int parkId, ScrapingProgress progress) {
+        if (!progress.frontier.isCompleted(parkId)) {
+            return false;
+        }
+
+        if (progress.frontier.wasFound(parkId)) {
+            progress.consecutiveErrors.set(0);
+            progress.successCount.incrementAndGet();
+        } else {
+            progress.consecutiveErrors.incrementAndGet();
+        }
+        return true;
+    }
 
+    private void checkpointIndex() {
+        try {
+            parkIdIndex.checkpoint();
         } catch (Exception e) {
-            progress.consecutiveErrors++;
-            System.err.println("ERREUR PARC " + parkId + ": " + e.getMessage());
+            System.err.println("ERREUR SAUVEGARDE INDEX DES PARCS: " + e.getMessage());
         }
     }
 
-    private void logScrapingEnd(ScrapingProgress progress) {
-        if (progress.consecutiveErrors >= ScrapingConfig.MAX_CONSECUTIVE_ERRORS) {
-            System.out.println("ARRET: " + ScrapingConfig.MAX_CONSECUTIVE_ERRORS + " erreurs consecutives");
+    private ExecutorService createWorkerExecutor(ScrapingEngine engine, int workers) {
+        if (engine == ScrapingEngine.HTTP) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ParkScraper-Http-", 0).factory());
         }
+
+        AtomicInteger workerIndex = new AtomicInteger();
+        return Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setName("ParkScraper-Worker-" + workerIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
-    private boolean scrapePark(int parkId) {
-        navigateTo(ScrapingConfig.PARK_PAGE_TEMPLATE + parkId);
-        sleep(ScrapingConfig.PAGE_LOAD_DELAY_MS);
+    private void runShardWorker(int worker, ScrapingEngine engine, WorkStealingIdQueue queue, ScrapingProgress progress) {
+        boolean usesBrowser = engine == ScrapingEngine.BROWSER;
+        if (usesBrowser && webDriverPool.lease() == null) {
+            System.err.println("AUCUN NAVIGATEUR DISPONIBLE POUR LE WORKER " + worker);
+            return;
+        }
 
-        Map<String, Object> parkData = executeScriptAsMap(ParkExtractionScripts.PARK_DETAILS);
+        try {
+            int parkId;
+            while (shouldContinueSharded(progress) && (parkId = queue.next(worker)) != WorkStealingIdQueue.EMPTY) {
+                currentParkId.accumulateAndGet(parkId, Math::max);
+                if (skipVisited(parkId, progress)) {
+                    if (progress.frontier.wasFound(parkId)) {
+                        queue.recordFound(parkId);
+                    }
+                    continue;
+                }
+                boolean success = processPark(parkId, engine, progress);
+                if (usesBrowser) {
+                    webDriverPool.recordPage(success);
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("ERREUR FATALE WORKER " + worker + ": " + e.getMessage());
+        } finally {
+            if (usesBrowser) {
+                webDriverPool.release();
+            }
+        }
+    }
+
+    private boolean shouldContinueScraping(ScrapingProgress progress) {
+        return isRunning.get()
+            && !progress.job.isCancelled()
+            && progress.consecutiveErrors.get() < ScrapingConfig.MAX_CONSECUTIVE_ERRORS
+            && progress.successCount.get() < ScrapingConfig.MAX_PARK_AMOUNT;
+    }
+
+    private boolean shouldContinueSharded(ScrapingProgress progress) {
+        return isRunning.get() && !progress.job.isCancelled() && progress.successCount.get() < ScrapingConfig.MAX_PARK_AMOUNT;
+    }
 
+    /**
+     * Fetches a park page. Within a pipeline, the page is handed over to the next
+     * stage and the result only tells whether the fetch succeeded; otherwise the
+     * park is extracted and saved on the calling thread and the result tells whether it exists.
+     */
+    private boolean processPark(int parkId, ScrapingEngine engine, ScrapingProgress progress) {
+        progress.frontier.lease(parkId);
+        ParkPipeline current = progress.pipeline;
+        long start = System.nanoTime();
+        try {
+            if (engine == ScrapingEngine.HTTP) {
+                Document document = httpExtractor.fetchDocument(parkId);
+                if (current != null) {
+                    current.fetch().record(System.nanoTime() - start, true);
+                    current.extract().submit(new FetchedPage(parkId, document));
+                    return true;
+                }
+                return handleExtracted(parkId, httpExtractor.extractPark(document), progress);
+            }
+
+            Map<String, Object> parkData = fetchParkWithBrowser(parkId);
+            if (current != null) {
+                current.fetch().record(System.nanoTime() - start, true);
+            }
+            return handleExtracted(parkId, parkData, progress);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            handleFailure(parkId, progress, e);
+            return false;
+        } catch (Exception e) {
+            if (current != null) {
+                current.fetch().record(System.nanoTime() - start, false);
+            }
+            handleFailure(parkId, progress, e);
+            return false;
+        }
+    }
+
+    private void extractPage(FetchedPage page, ScrapingProgress progress) {
+        try {
+            handleExtracted(page.parkId(), httpExtractor.extractPark(page.document()), progress);
+        } catch (Exception e) {
+            handleFailure(page.parkId(), progress, e);
+        }
+    }
+
+    /**
+     * Records whether the park exists, then saves it, or queues it for saving within a pipeline.
+     * Miss counters are updated here rather than after the save, so that the
+     * crawl stops on consecutive misses as soon as they are seen.
+     */
+    private boolean handleExtracted(int parkId, Map<String, Object> parkData, ScrapingProgress progress) throws InterruptedException {
         if (parkData == null || parkData.get("name") == null) {
+            progress.frontier.complete(parkId, false);
+            progress.job.recordPage(parkId, false);
+            frontierService.checkpointIfDue(progress.frontier);
+            parkIdIndex.recordDead(parkId);
+            int errors = progress.consecutiveErrors.incrementAndGet();
+            System.out.println("  Parc " + parkId + " non trouve (" +
+                errors + "/" + ScrapingConfig.MAX_CONSECUTIVE_ERRORS + ")");
             return false;
         }
 
-        savePark(parkData, parkId);
+        parkIdIndex.recordLive(parkId);
+        progress.consecutiveErrors.set(0);
+        progress.successCount.incrementAndGet();
+        if (progress.queue != null) {
+            progress.queue.recordFound(parkId);
+        }
+
+        ParkPipeline current = progress.pipeline;
+        if (current != null) {
+            current.persist().submit(new ExtractedPark(parkId, parkData));
+        } else {
+            persistPark(parkId, parkData, progress);
+        }
         return true;
     }
 
+    private void persistPark(int parkId, Map<String, Object> parkData, ScrapingProgress progress) {
+        try {
+            savePark(parkData, parkId);
+            progress.frontier.complete(parkId, true);
+            progress.job.recordPage(parkId, false);
+            frontierService.checkpointIfDue(progress.frontier);
+        } catch (Exception e) {
+            handleFailure(parkId, progress, e);
+        }
+    }
+
+    /**
+     * Saves a batch of parks in one transaction. If the batch fails, its parks
+     * are saved one by one so that a single bad park only fails itself.
+     */
+    private void persistParks(List<ExtractedPark> batch, ScrapingProgress progress) {
+        try {
+            List<ScrapedPark> parks = new ArrayList<>(batch.size());
+            for (ExtractedPark extracted : batch) {
+                parks.add(new ScrapedPark(buildPark(extracted.data(), extracted.parkId()), rideImageUrls(extracted.data())));
+            }
+            parkService.saveAll(parks);
+        } catch (Exception e) {
+            System.err.println("ERREUR SAUVEGARDE GROUPEE (" + batch.size() + " parcs): " + e.getMessage());
+            for (ExtractedPark extracted : batch) {
+                persistPark(extracted.parkId(), extracted.data(), progress);
+            }
+            return;
+        }
+
+        for (ExtractedPark extracted : batch) {
+            progress.frontier.complete(extracted.parkId(), true);
+            progress.job.recordPage(extracted.parkId(), false);
+        }
+        frontierService.checkpointIfDue(progress.frontier);
+        System.out.println("  -> LOT DE " + batch.size() + " PARCS SAUVEGARDE");
+    }
+
+    private void handleFailure(int parkId, ScrapingProgress progress, Exception e) {
+        progress.frontier.fail(parkId);
+        progress.job.recordPage(parkId, true);
+        progress.consecutiveErrors.incrementAndGet();
+        System.err.println("ERREUR PARC " + parkId + ": " + e.getMessage());
+    }
+
+    private void logScrapingEnd(ScrapingProgress progress) {
+        if (progress.consecutiveErrors.get() >= ScrapingConfig.MAX_CONSECUTIVE_ERRORS) {
+            System.out.println("ARRET: " + ScrapingConfig.MAX_CONSECUTIVE_ERRORS + " erreurs consecutives");
+        }
+    }
+
+    private Map<String, Object> fetchParkWithBrowser(int parkId) {
+        navigateTo(ScrapingConfig.PARK_PAGE_TEMPLATE + parkId, ScrapingConfig.PageTypes.PARK);
+        waitUntilReady(
+            ScrapingConfig.PageTypes.PARK,
+            scriptCondition(ParkExtractionScripts.PARK_READY),
+            ScrapingConfig.PAGE_READY_TIMEOUT_MS
+        );
+
+        return executeScriptAsMap(ParkExtractionScripts.PARK_DETAILS);
+    }
+
     private void savePark(Map<String, Object> data, int parkId) {
         if (parkId <= 0) {
             System.err.println("ERREUR: parkId invalide: " + parkId);
             return;
         }
 
-        ParkEntity park = createOrUpdatePark(data, parkId);
-        park = linkAttractions(park, data);
-
-        logParkSaved(park, data);
+        parkService.saveAll(List.of(new ScrapedPark(buildPark(data, parkId), rideImageUrls(data))));
+        logParkSaved(data);
     }
 
-    private ParkEntity createOrUpdatePark(Map<String, Object> data, int parkId) {
+    private ParkEntity buildPark(Map<String, Object> data, int parkId) {
         String parkName = data.get("name").toString();
         String location = data.get("location") != null ? data.get("location").toString() : "";
         CityEntity city = findCityFromLocation(location);
 
-        Long capital = parseLongOrDefault(ScrapingParser.parseMoney(data.get("capital")), 0L);
-        Long socialCapital = parseLongOrDefault(ScrapingParser.parseMoney(data.get("socialCapital")), 0L);
+        Long capital = ScrapingParser.parseLongOrDefault(data.get("capital"), 0L);
+        Long socialCapital = ScrapingParser.parseLongOrDefault(data.get("socialCapital"), 0L);
         Integer yesterdayVisitors = ScrapingParser.parseInteger(data.get("yesterdayVisitors"));
         Integer usedSurface = ScrapingParser.parseIntegerOrDefault(data.get("usedSurface"), 0);
         Integer note = ScrapingParser.parseIntegerOrDefault(data.get("note"), 0);
 
         System.out.println("PARC #" + parkId + ": " + parkName);
 
-        ParkEntity park = new ParkEntity(parkId, parkName, city, capital, socialCapital, yesterdayVisitors, usedSurface, note);
-        return parkService.save(park);
-    }
-
-    private Long parseLongOrDefault(Integer value, Long defaultValue) {
-        return value != null ? value.longValue() : defaultValue;
+        return new ParkEntity(parkId, parkName, city, capital, socialCapital, yesterdayVisitors, usedSurface, note);
     }
 
     @SuppressWarnings("unchecked")
-    private ParkEntity linkAttractions(ParkEntity park, Map<String, Object> data) {
+    private List<String> rideImageUrls(Map<String, Object> data) {
         List<Map<String, Object>> attractions = (List<Map<String, Object>>) data.get("attractions");
-
         if (attractions == null) {
-            return park;
+            // Not read from the page: the stored rides are kept
+            return null;
         }
 
+        List<String> imageUrls = new ArrayList<>();
+
         for (Map<String, Object> attraction : attractions) {
-            park = linkAttractionToPark(park, attraction);
+            Object imageUrl = attraction.get("imageUrl");
+            String normalized = imageUrl != null ? ScrapingParser.normalizeImageUrl(imageUrl.toString()) : null;
+            if (normalized != null) {
+                imageUrls.add(normalized);
+            }
         }
-
-        return park;
+        return imageUrls;
     }
 
-    private void logParkSaved(ParkEntity park, Map<String, Object> data) {
+    private void logParkSaved(Map<String, Object> data) {
         @SuppressWarnings("unchecked")
         List<Map<String, Object>> attractions = (List<Map<String, Object>>) data.get("attractions");
         System.out.println("  -> " + (attractions != null ? attractions.size() : 0) + " attractions liees");
@@ -213,25 +662,43 @@ public class ParkScraper extends BaseScraper {
         return cityService.findByName(cityName);
     }
 
-    private ParkEntity linkAttractionToPark(ParkEntity park, Map<String, Object> attractionData) {
-        Object imageUrlObj = attractionData.get("imageUrl");
-        if (imageUrlObj == null) {
-            return park;
-        }
-
-        String imageUrl = ScrapingParser.normalizeImageUrl(imageUrlObj.toString());
-        if (imageUrl != null) {
-            return parkService.addRideByImageUrl(park, imageUrl);
+    /**
+     * Helper class to track scraping progress.
+     * Shared by all workers of a parallel crawl.
+     */
+    private static class ScrapingProgress {
+        final AtomicInteger consecutiveErrors = new AtomicInteger();
+        final AtomicInteger successCount = new AtomicInteger();
+        final CrawlFrontier frontier;
+        final ScrapeJob job;
+        volatile boolean finished = false;
+        // Set for sharded crawls, so that parks found downstream feed the miss cutoff
+        volatile WorkStealingIdQueue queue;
+        volatile ParkPipeline pipeline;
+
+        ScrapingProgress(CrawlFrontier frontier, ScrapeJob job) {
+            this.frontier = frontier;
+            this.job = job;
         }
-        return park;
     }
 
+    private record FetchedPage(int parkId, Document document) {}
+
+    private record ExtractedPark(int parkId, Map<String, Object> data) {}
+
     /**
-     * Helper class to track scraping progress.
+     * Stages of a park crawl. Fetching runs on the crawl workers and is only metered.
      */
-    private static class ScrapingProgress {
-        int consecutiveErrors = 0;
-        int successCount = 0;
+    private record ParkPipeline(
+        PipelineStage<Integer> fetch,
+        PipelineStage<FetchedPage> extract,
+        PipelineStage<ExtractedPark> persist
+    ) {
+        List<PipelineStageStats> getStats() {
+            return extract != null
+                ? List.of(fetch.getStats(), extract.getStats(), persist.getStats())
+                : List.of(fetch.getStats(), persist.getStats());
+        }
     }
 
     /**
@@ -239,6 +706,14 @@ public class ParkScraper extends BaseScraper {
      */
     private static final class ParkExtractionScripts {
 
+        // Ready once the hero and its title are rendered, or once the page
+        // finished loading without a hero (the park does not exist)
+        static final String PARK_READY = """
+            const hero = document.querySelector('.park-hero');
+            if (hero) return hero.querySelector('.park-hero__title') !== null;
+            return document.readyState === 'complete';
+            """;
+
         static final String PARK_DETAILS = """
             return (function() {
                 const hero = document.querySelector('.park-hero');
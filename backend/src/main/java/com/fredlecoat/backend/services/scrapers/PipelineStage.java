@@ -0,0 +1,148 @@
+package com.fredlecoat.backend.services.scrapers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import com.fredlecoat.backend.entities.dtos.PipelineStageStats;
+
+/**
+ * One stage of a crawl pipeline: a bounded input queue drained by a fixed
+ * number of threads. {@link #submit} blocks while the queue is full, which
+ * slows the upstream stage down to this one's pace instead of buffering
+ * without limit.
+ *
+ * A batched stage hands its threads up to batchSize queued items at once,
+ * for handlers that amortize a round trip over several items.
+ *
+ * A stage without queue only meters work done by threads it does not own
+ * (the fetch workers), so every stage reports the same statistics.
+ */
+public class PipelineStage<T> {
+
+    private static final long POLL_INTERVAL_MS = 100;
+
+    private final String name;
+    private final int concurrency;
+    private final BlockingQueue<T> queue;
+    private final int batchSize;
+    private final Consumer<List<T>> handler;
+    private final List<Thread> threads = new ArrayList<>();
+
+    private final long startedNanos = System.nanoTime();
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong busyNanos = new AtomicLong();
+    private volatile boolean closed = false;
+
+    private PipelineStage(String name, int concurrency, int capacity, int batchSize, Consumer<List<T>> handler) {
+        this.name = name;
+        this.concurrency = Math.max(1, concurrency);
+        this.queue = handler != null ? new ArrayBlockingQueue<>(Math.max(1, capacity)) : null;
+        this.batchSize = Math.max(1, batchSize);
+        this.handler = handler;
+    }
+
+    /**
+     * Starts a stage whose threads pass each queued item to the handler.
+     * The handler is expected to deal with its own failures.
+     */
+    public static <T> PipelineStage<T> start(String name, int concurrency, int capacity, Consumer<T> handler) {
+        return startBatched(name, concurrency, capacity, 1, batch -> handler.accept(batch.get(0)));
+    }
+
+    /**
+     * Starts a stage whose threads pass queued items to the handler by batches of at most batchSize.
+     * A batch holds whatever was queued when a thread picked it up: it is never awaited to fill.
+     */
+    public static <T> PipelineStage<T> startBatched(String name, int concurrency, int capacity, int batchSize, Consumer<List<T>> handler) {
+        PipelineStage<T> stage = new PipelineStage<>(name, concurrency, capacity, batchSize, handler);
+        for (int i = 0; i < stage.concurrency; i++) {
+            Thread thread = new Thread(stage::drain);
+            thread.setName("ParkPipeline-" + name + "-" + i);
+            thread.setDaemon(true);
+            stage.threads.add(thread);
+            thread.start();
+        }
+        return stage;
+    }
+
+    /**
+     * A stage whose work is done elsewhere and only reported through {@link #record}.
+     */
+    public static <T> PipelineStage<T> metered(String name, int concurrency) {
+        return new PipelineStage<>(name, concurrency, 0, 1, null);
+    }
+
+    public void submit(T item) throws InterruptedException {
+        queue.put(item);
+    }
+
+    public void record(long elapsedNanos, boolean success) {
+        record(elapsedNanos, 1, success);
+    }
+
+    private void record(long elapsedNanos, int items, boolean success) {
+        busyNanos.addAndGet(elapsedNanos);
+        processed.addAndGet(items);
+        if (!success) {
+            failed.addAndGet(items);
+        }
+    }
+
+    /**
+     * Stops accepting work and waits until every queued item was handled.
+     */
+    public void close() throws InterruptedException {
+        closed = true;
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    public PipelineStageStats getStats() {
+        double elapsedSeconds = (System.nanoTime() - startedNanos) / 1_000_000_000.0;
+        long count = processed.get();
+        return new PipelineStageStats(
+            name,
+            concurrency,
+            queue != null ? queue.size() : 0,
+            queue != null ? queue.size() + queue.remainingCapacity() : 0,
+            count,
+            failed.get(),
+            elapsedSeconds > 0 ? count / elapsedSeconds : 0.0,
+            elapsedSeconds > 0 ? busyNanos.get() / 1_000_000_000.0 / (elapsedSeconds * concurrency) : 0.0
+        );
+    }
+
+    private void drain() {
+        try {
+            while (!closed || !queue.isEmpty()) {
+                T item = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (item == null) {
+                    continue;
+                }
+
+                List<T> batch = new ArrayList<>(batchSize);
+                batch.add(item);
+                queue.drainTo(batch, batchSize - 1);
+
+                long start = System.nanoTime();
+                boolean success = true;
+                try {
+                    handler.accept(batch);
+                } catch (RuntimeException e) {
+                    success = false;
+                    System.err.println("ERREUR ETAPE " + name + ": " + e.getMessage());
+                }
+                record(System.nanoTime() - start, batch.size(), success);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
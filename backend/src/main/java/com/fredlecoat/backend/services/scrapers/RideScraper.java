@@ -1,6 +1,7 @@
 package com.fredlecoat.backend.services.scrapers;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -15,8 +16,10 @@ import org.springframework.stereotype.Component;
 
 import com.fredlecoat.backend.configuration.ScrapingConfig;
 import com.fredlecoat.backend.entities.RideEntity;
+import com.fredlecoat.backend.services.CrawlFrontierService;
 import com.fredlecoat.backend.services.RideService;
 import com.fredlecoat.backend.utils.ScrapingParser;
+import com.fredlecoat.backend.values.ScrapeJobType;
 import com.fredlecoat.backend.values.RideType;
 
 /**
@@ -25,7 +28,8 @@ import com.fredlecoat.backend.values.RideType;
  * Responsibilities:
  * - Navigate to attractions page and open the store modal
  * - Extract ride details (name, price, type, hype, surface, etc.)
- * - Delegate persistence to RideService
+ * - Delegate persistence to RideService, and refresh its in-memory catalog afterwards
+ * - Checkpoint the rides saved, so that an interrupted crawl resumes after them
  */
 @Component
 public class RideScraper extends BaseScraper {
@@ -33,10 +37,12 @@ public class RideScraper extends BaseScraper {
     private static final String MODAL_SELECTOR = "#attraction-store-modal";
 
     private final RideService rideService;
+    private final CrawlFrontierService frontierService;
 
     @Autowired
-    public RideScraper(RideService rideService) {
+    public RideScraper(RideService rideService, CrawlFrontierService frontierService) {
         this.rideService = rideService;
+        this.frontierService = frontierService;
     }
 
     @Override
@@ -45,23 +51,63 @@ public class RideScraper extends BaseScraper {
     }
 
     public void scrapeAllRides() {
+        scrapeAllRides(ScrapeJob.detached(ScrapeJobType.RIDES));
+    }
+
+    public void scrapeAllRides(ScrapeJob job) {
         System.out.println("DEBUT SCRAPING DES ATTRACTIONS");
+        List<Map<String, Object>> cardsData = readRideCards(job);
+        if (cardsData == null) {
+            return;
+        }
 
         try {
-            navigateTo(ScrapingConfig.ATTRACTIONS_PAGE);
-            WebDriverWait wait = new WebDriverWait(getDriver(), Duration.ofSeconds(10));
-
-            openShopModal(wait);
-            extractAndSaveRides();
+            CrawlFrontier frontier = frontierService.resume(CrawlFrontier.RIDES);
+            if (saveRideCards(cardsData, frontier, job) && !job.isCancelled()) {
+                frontierService.finish(frontier);
+            }
+            rideService.refreshCatalog();
 
             System.out.println("SCRAPING DES ATTRACTIONS TERMINE");
 
         } catch (Exception e) {
+            job.reportFailure(e.getMessage());
             System.err.println("ERREUR SCRAPING ATTRACTIONS: " + e.getMessage());
             e.printStackTrace();
         }
     }
 
+    /**
+     * Reads the cards of the attractions store with the primary browser, released as soon
+     * as they are read: saving them needs no browser. Returns null if the store could not be read.
+     */
+    private List<Map<String, Object>> readRideCards(ScrapeJob job) {
+        if (!leasePrimaryDriver()) {
+            job.reportFailure("Navigateur principal occupe");
+            System.err.println("NAVIGATEUR PRINCIPAL OCCUPE, SCRAPING DES ATTRACTIONS ANNULE");
+            return null;
+        }
+
+        try {
+            navigateTo(ScrapingConfig.ATTRACTIONS_PAGE, ScrapingConfig.PageTypes.ATTRACTIONS);
+            WebDriverWait wait = new WebDriverWait(getDriver(), Duration.ofSeconds(10));
+
+            openShopModal(wait);
+            System.out.println("EXTRACTION DES ATTRACTIONS");
+            List<Map<String, Object>> cardsData = extractRidesData();
+            System.out.println("NOMBRE D'ATTRACTIONS TROUVEES: " + cardsData.size());
+            return cardsData;
+
+        } catch (Exception e) {
+            job.reportFailure(e.getMessage());
+            System.err.println("ERREUR EXTRACTION DES ATTRACTIONS: " + e.getMessage());
+            e.printStackTrace();
+            return null;
+        } finally {
+            releasePrimaryDriver();
+        }
+    }
+
     private void openShopModal(WebDriverWait wait) {
         WebElement shopButton = wait.until(
             ExpectedConditions.elementToBeClickable(By.cssSelector(ScrapingConfig.Selectors.OPEN_STORE_BUTTON))
@@ -70,40 +116,97 @@ public class RideScraper extends BaseScraper {
         System.out.println("OUVERTURE DE LA MODALE BOUTIQUE");
         executeScript("arguments[0].click();", shopButton);
 
-        wait.until(
-            ExpectedConditions.visibilityOfElementLocated(By.cssSelector(MODAL_SELECTOR))
+        waitUntilReady(
+            ScrapingConfig.PageTypes.ATTRACTIONS_STORE,
+            ExpectedConditions.visibilityOfElementLocated(By.cssSelector(MODAL_SELECTOR)),
+            ScrapingConfig.PAGE_READY_TIMEOUT_MS
         );
     }
 
-    private void extractAndSaveRides() {
-        System.out.println("EXTRACTION DES ATTRACTIONS");
-
+    private boolean saveRideCards(List<Map<String, Object>> cardsData, CrawlFrontier frontier, ScrapeJob job) {
         try {
-            List<Map<String, Object>> cardsData = extractRidesData();
-            System.out.println("NOMBRE D'ATTRACTIONS TROUVEES: " + cardsData.size());
+            job.setTotalPages(cardsData.size());
 
+            List<Map<String, Object>> pending = new ArrayList<>();
             for (Map<String, Object> card : cardsData) {
-                saveRide(card);
+                if (!frontier.isCompleted(rideKey(card))) {
+                    pending.add(card);
+                }
+            }
+            if (saveRides(pending)) {
+                for (Map<String, Object> card : pending) {
+                    frontier.complete(rideKey(card));
+                    job.recordPage(rideKey(card), false);
+                }
+                frontierService.checkpoint(frontier);
+                return true;
             }
 
+            // The batch failed: save rides one by one, so that only the bad ones fail
+            for (Map<String, Object> card : pending) {
+                if (job.isCancelled()) {
+                    frontierService.checkpoint(frontier);
+                    return true;
+                }
+
+                String key = rideKey(card);
+                if (saveRide(card)) {
+                    frontier.complete(key);
+                    frontierService.checkpointIfDue(frontier);
+                    job.recordPage(key, false);
+                } else {
+                    job.recordPage(key, true);
+                }
+            }
+            return true;
+
         } catch (Exception e) {
-            System.err.println("ERREUR EXTRACTION DES ATTRACTIONS: " + e.getMessage());
+            System.err.println("ERREUR SAUVEGARDE DES ATTRACTIONS: " + e.getMessage());
             e.printStackTrace();
+            frontierService.checkpoint(frontier);
+            job.reportFailure(e.getMessage());
+            return false;
         }
     }
 
     @SuppressWarnings("unchecked")
     private List<Map<String, Object>> extractRidesData() {
+        List<Map<String, Object>> captured = capturedRecords(ScrapingConfig.PageTypes.ATTRACTIONS_STORE, RideExtractionScripts.RIDE_FIELDS);
+        if (!captured.isEmpty()) {
+            System.out.println("ATTRACTIONS LUES DEPUIS LA CAPTURE RESEAU");
+            return captured;
+        }
         return (List<Map<String, Object>>) executeScript(RideExtractionScripts.ATTRACTIONS_LIST);
     }
 
-    private void saveRide(Map<String, Object> card) {
+    private String rideKey(Map<String, Object> card) {
+        return getStringValue(card, "name") + " de " + getStringValue(card, "constructor");
+    }
+
+    private boolean saveRides(List<Map<String, Object>> cards) {
+        try {
+            List<RideEntity> rides = new ArrayList<>(cards.size());
+            for (Map<String, Object> card : cards) {
+                rides.add(createRideFromData(card));
+            }
+            rideService.saveAll(rides);
+            System.out.println("ATTRACTIONS SAUVEGARDEES: " + rides.size());
+            return true;
+        } catch (Exception e) {
+            System.err.println("ERREUR SAUVEGARDE GROUPEE DES ATTRACTIONS: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean saveRide(Map<String, Object> card) {
         try {
             RideEntity ride = createRideFromData(card);
             rideService.save(ride);
             System.out.println("ATTRACTION SAUVEGARDEE: " + ride.getName() + " de " + ride.getBrand());
+            return true;
         } catch (Exception e) {
             System.err.println("ERREUR SAUVEGARDE ATTRACTION: " + e.getMessage());
+            return false;
         }
     }
 
@@ -174,6 +277,9 @@ public class RideScraper extends BaseScraper {
      */
     private static final class RideExtractionScripts {
 
+        // Keys of a ride record, captured or read from the DOM
+        static final String[] RIDE_FIELDS = {"name", "constructor", "type", "price", "imageUrl"};
+
         static final String ATTRACTIONS_LIST = """
             return Array.from(document.querySelectorAll('.attraction-card')).map(card => ({
                 constructor: card.getAttribute('data-constructor'),
@@ -0,0 +1,128 @@
+package com.fredlecoat.backend.services.scrapers;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fredlecoat.backend.entities.dtos.ScrapeJobStatus;
+import com.fredlecoat.backend.values.ScrapeJobState;
+import com.fredlecoat.backend.values.ScrapeJobType;
+
+/**
+ * Progress and cancellation flag of one scrape, shared between the scraper
+ * running it and the threads reporting on it.
+ *
+ * Scrapers call {@link #recordPage} for each page (or item) handled and
+ * check {@link #isCancelled()} between pages. Scrapes started outside the
+ * job API run with a detached job that nobody reads.
+ */
+public class ScrapeJob {
+
+    private final String id = UUID.randomUUID().toString();
+    private final ScrapeJobType type;
+    private final Instant startedOn = Instant.now();
+    private final long startedNanos = System.nanoTime();
+
+    private final AtomicLong pagesDone = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private volatile long totalPages = -1;
+    private volatile String currentItem;
+    private volatile String message;
+    private volatile String failure;
+    private volatile boolean cancelled = false;
+    private volatile ScrapeJobState state = ScrapeJobState.RUNNING;
+    private volatile Instant finishedOn;
+    private volatile long finishedNanos;
+
+    public ScrapeJob(ScrapeJobType type) {
+        this.type = type;
+    }
+
+    public static ScrapeJob detached(ScrapeJobType type) {
+        return new ScrapeJob(type);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public ScrapeJobType getType() {
+        return type;
+    }
+
+    public ScrapeJobState getState() {
+        return state;
+    }
+
+    public void recordPage(Object item, boolean error) {
+        currentItem = String.valueOf(item);
+        pagesDone.incrementAndGet();
+        if (error) {
+            errors.incrementAndGet();
+        }
+    }
+
+    /**
+     * Sets the number of pages the job expects to handle, once known. Enables the ETA.
+     */
+    public void setTotalPages(long totalPages) {
+        this.totalPages = totalPages;
+    }
+
+    /**
+     * Records that the scrape stopped on an error it handled itself.
+     */
+    public void reportFailure(String failureMessage) {
+        failure = failureMessage;
+    }
+
+    public String getFailure() {
+        return failure;
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public boolean isFinished() {
+        return state != ScrapeJobState.RUNNING;
+    }
+
+    public void finish(ScrapeJobState finalState, String finalMessage) {
+        message = finalMessage;
+        finishedOn = Instant.now();
+        finishedNanos = System.nanoTime();
+        state = finalState;
+    }
+
+    public ScrapeJobStatus toStatus() {
+        long done = pagesDone.get();
+        long total = totalPages;
+        // Measured up to the end once finished, so the rate of a finished job stays put
+        long endNanos = isFinished() ? finishedNanos : System.nanoTime();
+        double elapsedSeconds = (endNanos - startedNanos) / 1_000_000_000.0;
+        double pagesPerSecond = elapsedSeconds > 0 ? done / elapsedSeconds : 0.0;
+        long eta = total > 0 && pagesPerSecond > 0 && !isFinished()
+            ? Math.round(Math.max(0, total - done) / pagesPerSecond)
+            : -1;
+
+        return new ScrapeJobStatus(
+            id,
+            type,
+            state,
+            done,
+            total,
+            errors.get(),
+            pagesPerSecond,
+            eta,
+            currentItem,
+            message,
+            startedOn,
+            finishedOn
+        );
+    }
+}
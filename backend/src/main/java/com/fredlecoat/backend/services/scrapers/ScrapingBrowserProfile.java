@@ -0,0 +1,86 @@
+package com.fredlecoat.backend.services.scrapers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.fredlecoat.backend.configuration.BrowserProfileConfig;
+
+/**
+ * Applies the lean scraping profile to a browser before it loads a page.
+ *
+ * Uses DevTools request blocking (Network.setBlockedURLs) so that images,
+ * fonts, media and analytics are never downloaded, plus stylesheets and page
+ * JavaScript on the page types configured for it. Rules are only re-sent
+ * when a browser switches to a page type with different rules.
+ */
+@Component
+public class ScrapingBrowserProfile {
+
+    private static final String[] CSS_PATTERNS = {"*.css", "*.css?*"};
+
+    private final BrowserProfileConfig profileConfig;
+
+    // Page type last applied to each browser (weak keys: recycled browsers are dropped)
+    private final Map<WebDriver, String> appliedPageTypes = Collections.synchronizedMap(new WeakHashMap<>());
+
+    @Autowired
+    public ScrapingBrowserProfile(BrowserProfileConfig profileConfig) {
+        this.profileConfig = profileConfig;
+    }
+
+    public void apply(WebDriver driver, String pageType) {
+        if (!profileConfig.isLean() || !(driver instanceof HasCdp cdp)) {
+            return;
+        }
+
+        String previous = appliedPageTypes.get(driver);
+        if (previous != null && sameRules(previous, pageType)) {
+            return;
+        }
+
+        try {
+            if (previous == null) {
+                cdp.executeCdpCommand("Network.enable", Map.of());
+            }
+            cdp.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", blockedUrls(pageType)));
+            cdp.executeCdpCommand("Emulation.setScriptExecutionDisabled", Map.of("value", isJavascriptDisabled(pageType)));
+            appliedPageTypes.put(driver, pageType);
+        } catch (Exception e) {
+            System.err.println("ERREUR PROFIL NAVIGATEUR (" + pageType + "): " + e.getMessage());
+        }
+    }
+
+    private List<String> blockedUrls(String pageType) {
+        List<String> urls = new ArrayList<>();
+        for (String extension : profileConfig.getBlockedExtensions()) {
+            urls.add("*." + extension);
+            urls.add("*." + extension + "?*");
+        }
+        urls.addAll(profileConfig.getBlockedUrlPatterns());
+        if (isCssBlocked(pageType)) {
+            urls.addAll(List.of(CSS_PATTERNS));
+        }
+        return urls;
+    }
+
+    private boolean sameRules(String pageType, String otherPageType) {
+        return isCssBlocked(pageType) == isCssBlocked(otherPageType)
+            && isJavascriptDisabled(pageType) == isJavascriptDisabled(otherPageType);
+    }
+
+    private boolean isCssBlocked(String pageType) {
+        return profileConfig.getCssBlockedOn().contains(pageType);
+    }
+
+    private boolean isJavascriptDisabled(String pageType) {
+        return profileConfig.getJavascriptDisabledOn().contains(pageType);
+    }
+}
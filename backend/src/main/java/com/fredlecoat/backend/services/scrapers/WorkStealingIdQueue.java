@@ -0,0 +1,144 @@
+package com.fredlecoat.backend.services.scrapers;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * Distributes a sorted list of ids across workers, in blocks, with work stealing.
+ *
+ * Blocks are dealt round-robin so that all workers advance through the id
+ * space together, lowest ids first. A worker takes from the head of its own
+ * deque and, once empty, steals from the head of the others: stealing the
+ * lowest remaining block keeps processing close to ascending order, which is
+ * what makes the miss cutoff below meaningful.
+ *
+ * The cutoff mirrors the sequential crawl: once the contiguous prefix of
+ * completed blocks extends {@code maxConsecutiveMisses} ids past the highest
+ * id found so far, no further blocks are handed out.
+ */
+public class WorkStealingIdQueue {
+
+    public static final int EMPTY = -1;
+
+    private final int[] ids;
+    private final int blockSize;
+    private final int maxConsecutiveMisses;
+    private final List<ConcurrentLinkedDeque<Integer>> deques;
+    private final Cursor[] cursors;
+
+    private final BitSet completedBlocks = new BitSet();
+    private int completedPrefix = 0;
+    private int highestFoundId;
+    private volatile boolean exhausted = false;
+
+    public WorkStealingIdQueue(int[] ids, int workers, int blockSize, int maxConsecutiveMisses) {
+        this.ids = ids;
+        this.blockSize = Math.max(1, blockSize);
+        this.maxConsecutiveMisses = maxConsecutiveMisses;
+        this.highestFoundId = ids.length > 0 ? ids[0] - 1 : 0;
+
+        this.deques = new ArrayList<>(workers);
+        this.cursors = new Cursor[workers];
+        for (int worker = 0; worker < workers; worker++) {
+            deques.add(new ConcurrentLinkedDeque<>());
+            cursors[worker] = new Cursor();
+        }
+
+        int blockCount = (ids.length + this.blockSize - 1) / this.blockSize;
+        for (int block = 0; block < blockCount; block++) {
+            deques.get(block % workers).addLast(block);
+        }
+    }
+
+    public static WorkStealingIdQueue ofRange(int startId, int endId, int workers, int blockSize, int maxConsecutiveMisses) {
+        int[] ids = new int[Math.max(0, endId - startId + 1)];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = startId + i;
+        }
+        return new WorkStealingIdQueue(ids, workers, blockSize, maxConsecutiveMisses);
+    }
+
+    /**
+     * Returns the next id for the given worker, or {@link #EMPTY} when nothing is left.
+     * Each worker must be driven by a single thread.
+     */
+    public int next(int worker) {
+        Cursor cursor = cursors[worker];
+
+        if (cursor.block != EMPTY && cursor.position >= blockEnd(cursor.block)) {
+            markBlockCompleted(cursor.block);
+            cursor.block = EMPTY;
+        }
+
+        if (cursor.block == EMPTY) {
+            if (exhausted) {
+                return EMPTY;
+            }
+            Integer block = takeBlock(worker);
+            if (block == null) {
+                return EMPTY;
+            }
+            cursor.block = block;
+            cursor.position = block * blockSize;
+        }
+
+        return ids[cursor.position++];
+    }
+
+    /**
+     * Records that an id handed out by {@link #next(int)} turned out to exist.
+     */
+    public synchronized void recordFound(int id) {
+        highestFoundId = Math.max(highestFoundId, id);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public boolean isExhausted() {
+        return exhausted;
+    }
+
+    private Integer takeBlock(int worker) {
+        Integer block = deques.get(worker).pollFirst();
+        if (block != null) {
+            return block;
+        }
+
+        for (int offset = 1; offset < deques.size(); offset++) {
+            block = deques.get((worker + offset) % deques.size()).pollFirst();
+            if (block != null) {
+                return block;
+            }
+        }
+        return null;
+    }
+
+    private int blockEnd(int block) {
+        return Math.min(ids.length, (block + 1) * blockSize);
+    }
+
+    private synchronized void markBlockCompleted(int block) {
+        completedBlocks.set(block);
+        while (completedBlocks.get(completedPrefix)) {
+            completedPrefix++;
+        }
+
+        if (completedPrefix == 0) {
+            return;
+        }
+
+        int lastCompletedId = ids[blockEnd(completedPrefix - 1) - 1];
+        if (lastCompletedId - highestFoundId >= maxConsecutiveMisses) {
+            exhausted = true;
+        }
+    }
+
+    private static final class Cursor {
+        int block = EMPTY;
+        int position = 0;
+    }
+}
@@ -0,0 +1,38 @@
+package com.fredlecoat.backend.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Compact content hashes, used as deduplication keys for scraped rows.
+ */
+public final class ContentHash {
+
+    private ContentHash() {
+        // Utility class - no instantiation
+    }
+
+    /**
+     * Hashes the parts with SHA-256 and keeps the first 64 bits.
+     * Parts are separated by a NUL character so that ("ab", "c") and ("a", "bc") differ.
+     */
+    public static long of(Object... parts) {
+        StringBuilder content = new StringBuilder();
+        for (Object part : parts) {
+            content.append(part).append('\0');
+        }
+
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.toString().getBytes(StandardCharsets.UTF_8));
+            long hash = 0;
+            for (int i = 0; i < Long.BYTES; i++) {
+                hash = (hash << 8) | (digest[i] & 0xFF);
+            }
+            return hash;
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,59 +1,43 @@
 package com.fredlecoat.backend.utils;
 
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
 /**
  * Utility class for parsing scraped text values into typed data.
  * Centralizes all parsing logic to avoid duplication across scrapers.
  */
 public final class ScrapingParser {
 
+    // Returned by parseLong when the value cannot be parsed
+    public static final long INVALID = Long.MIN_VALUE;
+
+    // Units following a scraped number, spaces ignored
+    private static final String[] UNIT_SUFFIXES = {"€", "m²", "m", "²", "/h"};
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("[\\s\u00A0\u202F\u2009]+");
+
     private ScrapingParser() {
         // Utility class - no instantiation
     }
 
-    /**
-     * Removes all types of spaces from a string (regular, non-breaking, narrow).
-     */
-    private static String removeAllSpaces(String str) {
-        return str
-            .replace(" ", "")       // regular space
-            .replace("\u00A0", "")  // non-breaking space
-            .replace("\u202F", "")  // narrow no-break space (French number separator)
-            .replace("\u2009", ""); // thin space
-    }
-
     /**
      * Parses a money value like "6 487 883 €" into a Long.
+     * Returns null if parsing fails.
      */
-    public static Integer parseMoney(Object value) {
-        if (value == null) {
-            return null;
-        }
-        String str = removeAllSpaces(value.toString().replace("€", "")).trim();
-        try {
-            return Integer.parseInt(str);
-        } catch (NumberFormatException e) {
-            return null;
-        }
+    public static Long parseMoney(Object value) {
+        long result = parseLong(value);
+        return result != INVALID ? result : null;
     }
 
     /**
      * Parses an integer value like "2 956" into an Integer.
-     * Returns null if parsing fails.
+     * Returns null if parsing fails or the value does not fit in an int.
      */
     public static Integer parseInteger(Object value) {
-        if (value == null) {
-            return null;
-        }
-        String str = removeAllSpaces(value.toString())
-            .replace("m", "")
-            .replace("²", "")
-            .trim();
-        try {
-            return Integer.parseInt(str);
-        } catch (NumberFormatException e) {
-            e.printStackTrace();
-            return null;
-        }
+        return toInteger(parseLong(value));
     }
 
     /**
@@ -61,38 +45,144 @@ public final class ScrapingParser {
      * Returns the specified default value if parsing fails.
      */
     public static int parseIntegerOrDefault(Object value, int defaultValue) {
-        Integer result = parseInteger(value);
-        return result != null ? result : defaultValue;
+        long result = parseLong(value);
+        return result != INVALID && result == (int) result ? (int) result : defaultValue;
+    }
+
+    /**
+     * Parses a value like "6 487 883 €" into a long.
+     * Returns the specified default value if parsing fails.
+     */
+    public static long parseLongOrDefault(Object value, long defaultValue) {
+        long result = parseLong(value);
+        return result != INVALID ? result : defaultValue;
     }
 
     /**
      * Parses a surface value like "30 000 m²" into an Integer.
      */
     public static Integer parseSurface(Object value) {
-        if (value == null) {
-            return null;
-        }
-        String str = removeAllSpaces(value.toString().replace("m²", "")).trim();
-        try {
-            return Integer.parseInt(str);
-        } catch (NumberFormatException e) {
-            return null;
-        }
+        return toInteger(parseLong(value));
     }
 
     /**
      * Parses a capacity value like "1 200 / h" into an Integer.
      */
     public static Integer parseCapacity(Object value) {
+        return toInteger(parseLong(value));
+    }
+
+    /**
+     * Parses a scraped integer in a single scan, without intermediate strings or exceptions.
+     *
+     * Accepts an optional sign, digits separated by any Unicode space (regular,
+     * non-breaking, narrow, thin...) and one optional unit suffix: "€", "m²", "m", "²" or "/ h".
+     * A leading "€", before or after the sign, is skipped as well.
+     * Example: "-6 487 883 €" -> -6487883, "€ 12" -> 12
+     * Returns INVALID for null, empty, malformed or out of range values.
+     */
+    public static long parseLong(Object value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
         if (value == null) {
-            return null;
+            return INVALID;
+        }
+        CharSequence text = value instanceof CharSequence sequence ? sequence : value.toString();
+        int length = text.length();
+        int i = skipCurrency(text, skipSpaces(text, 0));
+
+        boolean negative = false;
+        if (i < length && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+            negative = text.charAt(i) == '-';
+            i = skipCurrency(text, skipSpaces(text, i + 1));
+        }
+
+        // Accumulated negatively, as Long.parseLong does, so that Long.MIN_VALUE + 1 .. MAX_VALUE all fit
+        long result = 0;
+        int digits = 0;
+        for (; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (result < Long.MIN_VALUE / 10) {
+                    return INVALID;
+                }
+                result *= 10;
+                int digit = c - '0';
+                if (result < Long.MIN_VALUE + digit + 1) {
+                    return INVALID;
+                }
+                result -= digit;
+                digits++;
+            } else if (!isSpace(c)) {
+                break;
+            }
+        }
+
+        if (digits == 0 || !isUnitSuffix(text, i)) {
+            return INVALID;
+        }
+        return negative ? result : -result;
+    }
+
+    private static Integer toInteger(long value) {
+        return value != INVALID && value == (int) value ? (int) value : null;
+    }
+
+    private static boolean isSpace(char c) {
+        return Character.isWhitespace(c) || Character.isSpaceChar(c);
+    }
+
+    private static int skipSpaces(CharSequence text, int from) {
+        int i = from;
+        while (i < text.length() && isSpace(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipCurrency(CharSequence text, int from) {
+        return from < text.length() && text.charAt(from) == '€' ? skipSpaces(text, from + 1) : from;
+    }
+
+    /**
+     * Whether the text from the given index is empty or one of the unit suffixes, spaces ignored.
+     */
+    private static boolean isUnitSuffix(CharSequence text, int from) {
+        if (skipSpaces(text, from) == text.length()) {
+            return true;
         }
-        String str = removeAllSpaces(value.toString().replace("/ h", "").replace("/h", "")).trim();
-        try {
-            return Integer.parseInt(str);
-        } catch (NumberFormatException e) {
+        for (String suffix : UNIT_SUFFIXES) {
+            if (matchesIgnoringSpaces(text, from, suffix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matchesIgnoringSpaces(CharSequence text, int from, String expected) {
+        int i = from;
+        for (int j = 0; j < expected.length(); j++) {
+            i = skipSpaces(text, i);
+            if (i == text.length() || text.charAt(i) != expected.charAt(j)) {
+                return false;
+            }
+            i++;
+        }
+        return skipSpaces(text, i) == text.length();
+    }
+
+    /**
+     * Normalizes a name into a lookup key: accents stripped, lower case,
+     * runs of any kind of space collapsed into one.
+     * Example: "  Saint-Étienne " -> "saint-etienne"
+     */
+    public static String normalizeName(String name) {
+        if (name == null) {
             return null;
         }
+        String withoutAccents = COMBINING_MARKS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("");
+        return SPACES.matcher(withoutAccents.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
     }
 
     /**
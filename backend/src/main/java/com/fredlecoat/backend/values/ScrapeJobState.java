@@ -0,0 +1,8 @@
+package com.fredlecoat.backend.values;
+
+public enum ScrapeJobState {
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED
+}
@@ -0,0 +1,7 @@
+package com.fredlecoat.backend.values;
+
+public enum ScrapeJobType {
+    PARKS,
+    CITIES,
+    RIDES
+}
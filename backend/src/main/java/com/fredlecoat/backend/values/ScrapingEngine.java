@@ -0,0 +1,6 @@
+package com.fredlecoat.backend.values;
+
+public enum ScrapingEngine {
+    BROWSER,
+    HTTP
+}
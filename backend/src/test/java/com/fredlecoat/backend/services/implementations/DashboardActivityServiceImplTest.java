@@ -0,0 +1,187 @@
+package com.fredlecoat.backend.services.implementations;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import com.fredlecoat.backend.entities.DashboardActivityEntity;
+import com.fredlecoat.backend.entities.dtos.ParsedNews;
+import com.fredlecoat.backend.repositories.DashboardActivityRepository;
+import com.fredlecoat.backend.repositories.NativeUpsertRepository;
+import com.fredlecoat.backend.services.CityService;
+import com.fredlecoat.backend.services.ParkService;
+import com.fredlecoat.backend.services.PlayerService;
+import com.fredlecoat.backend.services.RideService;
+import com.fredlecoat.backend.values.DashboardActivityCategory;
+import com.fredlecoat.backend.values.DashboardActivityType;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class DashboardActivityServiceImplTest {
+
+    private static final ParsedNews NONE = new ParsedNews(null, null, null, null, null, null, DashboardActivityType.NONE);
+
+    @Mock
+    private DashboardActivityRepository repository;
+
+    @Mock
+    private NativeUpsertRepository nativeUpsertRepository;
+
+    @Mock
+    private NewsParsingService parsingService;
+
+    @Mock
+    private ParkService parkService;
+
+    @Mock
+    private PlayerService playerService;
+
+    @Mock
+    private CityService cityService;
+
+    @Mock
+    private RideService rideService;
+
+    @InjectMocks
+    private DashboardActivityServiceImpl service;
+
+    // Texts handed to the native insert, one list per call
+    private final List<List<String>> insertedTexts = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(parsingService.parse(anyString())).thenReturn(NONE);
+        when(nativeUpsertRepository.insertActivitiesIfAbsent(anyList())).thenAnswer(invocation -> {
+            List<DashboardActivityEntity> activities = invocation.getArgument(0);
+            insertedTexts.add(activities.stream().map(DashboardActivityEntity::getText).toList());
+            return activities;
+        });
+    }
+
+    @Test
+    void stopsAtTheHighWaterMark() {
+        storedMark("18/10/2026 à 10:00", "Mark");
+
+        service.createNew(List.of(
+            news("18/10/2026 à 10:02", "Newest"),
+            news("18/10/2026 à 10:01", "Newer"),
+            news("18/10/2026 à 10:00", "Mark"),
+            news("18/10/2026 à 09:59", "Older")
+        ));
+
+        assertThat(insertedTexts).containsExactly(List.of("Newest", "Newer"));
+        verify(parsingService, never()).parse("Mark");
+        verify(parsingService, never()).parse("Older");
+    }
+
+    @Test
+    void stopsAtTheFirstActivityPostedBeforeTheMark() {
+        storedMark("18/10/2026 à 10:00", "Mark, no longer in the journal");
+
+        service.createNew(List.of(
+            news("18/10/2026 à 10:01", "Newer"),
+            news("18/10/2026 à 09:59", "Older")
+        ));
+
+        assertThat(insertedTexts).containsExactly(List.of("Newer"));
+    }
+
+    @Test
+    void storesTheWholeJournalWhenTheMarkIsMissing() {
+        storedMark("18/10/2026 à 10:00", "Mark, no longer in the journal");
+
+        service.createNew(List.of(
+            news("18/10/2026 à 10:02", "Newest"),
+            news("18/10/2026 à 10:01", "Newer"),
+            news("18/10/2026 à 10:00", "Same minute as the mark")
+        ));
+
+        assertThat(insertedTexts).containsExactly(List.of("Newest", "Newer", "Same minute as the mark"));
+    }
+
+    @Test
+    void advancesTheMarkToTheNewestActivity() {
+        when(repository.findFirstByContentHashIsNotNullOrderByPostedDescIdDesc()).thenReturn(Optional.empty());
+        List<Map<String, Object>> journal = List.of(
+            news("18/10/2026 à 10:02", "Newest"),
+            news("18/10/2026 à 10:01", "Newer")
+        );
+
+        service.createNew(journal);
+        service.createNew(journal);
+
+        assertThat(insertedTexts).containsExactly(List.of("Newest", "Newer"));
+        verify(parsingService, times(1)).parse("Newest");
+    }
+
+    @Test
+    void keepsTheMarkBelowAFailedActivity() {
+        when(repository.findFirstByContentHashIsNotNullOrderByPostedDescIdDesc()).thenReturn(Optional.empty());
+        when(parsingService.parse("Failing"))
+            .thenThrow(new IllegalStateException("lookup failed"))
+            .thenReturn(NONE);
+        List<Map<String, Object>> journal = List.of(
+            news("18/10/2026 à 10:02", "Newest"),
+            news("18/10/2026 à 10:01", "Failing"),
+            news("18/10/2026 à 10:00", "Oldest")
+        );
+
+        service.createNew(journal);
+        service.createNew(journal);
+
+        // The mark stays on "Oldest": the next run walks back to the failed activity and retries it,
+        // while "Newest" is skipped by the hash filter without being parsed again
+        assertThat(insertedTexts).containsExactly(List.of("Newest", "Oldest"), List.of("Failing"));
+        verify(parsingService, times(1)).parse("Newest");
+        verify(parsingService, times(1)).parse("Oldest");
+    }
+
+    @Test
+    void keepsThePreviousMarkWhenTheOldestActivityFails() {
+        storedMark("18/10/2026 à 09:00", "Mark");
+        when(parsingService.parse("Failing"))
+            .thenThrow(new IllegalStateException("lookup failed"))
+            .thenReturn(NONE);
+        List<Map<String, Object>> journal = List.of(
+            news("18/10/2026 à 10:01", "Newest"),
+            news("18/10/2026 à 10:00", "Failing"),
+            news("18/10/2026 à 09:00", "Mark")
+        );
+
+        service.createNew(journal);
+        service.createNew(journal);
+
+        assertThat(insertedTexts).containsExactly(List.of("Newest"), List.of("Failing"));
+    }
+
+    private void storedMark(String date, String text) {
+        LocalDateTime posted = service.parseActivityDate(date);
+        DashboardActivityEntity mark = new DashboardActivityEntity(
+            DashboardActivityCategory.PARK, posted, DashboardActivityType.NONE, text, null, null, null, null, null, null
+        );
+        when(repository.findFirstByContentHashIsNotNullOrderByPostedDescIdDesc()).thenReturn(Optional.of(mark));
+    }
+
+    private static Map<String, Object> news(String date, String text) {
+        return Map.of("date", date, "text", text);
+    }
+}
@@ -0,0 +1,116 @@
+package com.fredlecoat.backend.services.implementations;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fredlecoat.backend.entities.dtos.ParsedNews;
+import com.fredlecoat.backend.parsers.impl.BuyLandParser;
+import com.fredlecoat.backend.parsers.impl.BuyParkParser;
+import com.fredlecoat.backend.parsers.impl.BuyRideFromPlayer;
+import com.fredlecoat.backend.parsers.impl.BuyRideParser;
+import com.fredlecoat.backend.parsers.impl.DestructRideParser;
+import com.fredlecoat.backend.parsers.impl.SellRideParser;
+import com.fredlecoat.backend.values.DashboardActivityType;
+
+class NewsParsingServiceTest {
+
+    // Same parsers, in the same order, as NewsParserConfig
+    private final NewsParsingService service = new NewsParsingService(List.of(
+        new BuyLandParser(),
+        new BuyRideParser(),
+        new BuyParkParser(),
+        new BuyRideFromPlayer(),
+        new SellRideParser(),
+        new DestructRideParser()
+    ));
+
+    @Test
+    void parsesBuyingLand() {
+        ParsedNews news = service.parse("Fred Lecoat viens d'acheter 2 300m² de terrain à Aventura Parc pour un agrandissement.");
+
+        assertThat(news).isEqualTo(new ParsedNews(
+            null, "Aventura Parc", "Fred Lecoat", null, null, 2300, DashboardActivityType.BUYING_LAND
+        ));
+    }
+
+    @Test
+    void parsesBuyingPark() {
+        ParsedNews news = service.parse("Marie Dupont vient d'acquérir des terrains pour implanter Wonderland à Saint-Étienne.");
+
+        assertThat(news).isEqualTo(new ParsedNews(
+            "Marie Dupont", "Saint-Étienne", "Wonderland", null, null, null, DashboardActivityType.BUYING_PARK
+        ));
+    }
+
+    @Test
+    void parsesBuyingRideFromAnotherPark() {
+        ParsedNews news = service.parse("Aventura Parc vient d'acheter un Boomerang à Wonderland.");
+
+        assertThat(news).isEqualTo(new ParsedNews(
+            null, null, "Aventura Parc", "Wonderland", "Boomerang", null, DashboardActivityType.BUYING_RIDE_FROM_OTHER
+        ));
+    }
+
+    @Test
+    void parsesBuyingRide() {
+        ParsedNews news = service.parse("Aventura Parc à Lyon viens d'annoncer l'arrivée d'un Wild Mouse de Mack Rides.");
+
+        assertThat(news).isEqualTo(new ParsedNews(
+            null, "Lyon", "Aventura Parc", null, "Wild Mouse de Mack Rides", null, DashboardActivityType.BUYING_RIDE
+        ));
+    }
+
+    @Test
+    void parsesDestructingRide() {
+        ParsedNews news = service.parse("Wonderland à Saint-Étienne vient d'annoncer la destruction de Carrousel Belle Époque.");
+
+        assertThat(news).isEqualTo(new ParsedNews(
+            null, "Saint-Étienne", "Wonderland", null, "Carrousel Belle Époque", null, DashboardActivityType.DESTRUCT_RIDE
+        ));
+    }
+
+    @Test
+    void parsesSellingRide() {
+        ParsedNews news = service.parse("Wonderland à Saint-Étienne vient de mettre en vente Boomerang pour 1 250 000 €.");
+
+        // The pattern captures everything after "mettre en", the word "vente" included
+        assertThat(news).isEqualTo(new ParsedNews(
+            null, "Saint-Étienne", "Wonderland", null, "vente Boomerang", 1250000, DashboardActivityType.SELLING_RIDE
+        ));
+    }
+
+    @Test
+    void matchesAnchorsWhateverTheCase() {
+        ParsedNews news = service.parse("Aventura Parc Vient D'Acheter Un Boomerang à Wonderland.");
+
+        assertThat(news.type()).isEqualTo(DashboardActivityType.BUYING_RIDE_FROM_OTHER);
+        assertThat(news.rideName()).isEqualTo("Boomerang");
+    }
+
+    @Test
+    void triesTheOtherParsersWhenANameContainsAnAnchor() {
+        // The selling parser comes first and fails; the destruction parser still gets the line
+        ParsedNews news = service.parse("Vient de mettre en scène à Lyon vient d'annoncer la destruction de Wild Mouse.");
+
+        assertThat(news.type()).isEqualTo(DashboardActivityType.DESTRUCT_RIDE);
+        assertThat(news.actorParkName()).isEqualTo("Vient de mettre en scène");
+        assertThat(news.rideName()).isEqualTo("Wild Mouse");
+    }
+
+    @Test
+    void returnsNoneWithoutAnchor() {
+        ParsedNews news = service.parse("Le classement hebdomadaire des parcs de la région Auvergne-Rhône-Alpes est disponible.");
+
+        assertThat(news).isEqualTo(new ParsedNews(null, null, null, null, null, null, DashboardActivityType.NONE));
+    }
+
+    @Test
+    void returnsNoneWhenTheAnchoredPatternDoesNotMatch() {
+        ParsedNews news = service.parse("Wonderland à Saint-Étienne vient de mettre en vente Boomerang.");
+
+        assertThat(news.type()).isEqualTo(DashboardActivityType.NONE);
+    }
+}
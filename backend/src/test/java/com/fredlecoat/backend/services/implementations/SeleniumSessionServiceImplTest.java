@@ -0,0 +1,51 @@
+package com.fredlecoat.backend.services.implementations;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+
+import com.fredlecoat.backend.configuration.WebSiteAccessConfig;
+import com.fredlecoat.backend.services.LoginService;
+
+@ExtendWith(MockitoExtension.class)
+class SeleniumSessionServiceImplTest {
+
+    @Mock
+    private LoginService loginService;
+
+    @Mock
+    private WebSiteAccessConfig accessConfig;
+
+    @InjectMocks
+    private SeleniumSessionServiceImpl sessionService;
+
+    @Test
+    void reloginHappensOnADedicatedBrowserOncePerGeneration() {
+        WebDriver loginDriver = mock(WebDriver.class, RETURNS_DEEP_STUBS);
+        when(loginDriver.manage().getCookies()).thenReturn(Set.of(new Cookie("PHPSESSID", "fresh")));
+        when(loginService.createDriver()).thenReturn(loginDriver);
+
+        long generation = sessionService.restore(null, 0);
+        assertThat(sessionService.restore(null, 0)).isEqualTo(generation);
+
+        assertThat(generation).isEqualTo(1);
+        assertThat(sessionService.getCookies()).containsEntry("PHPSESSID", "fresh");
+        verify(loginService, times(1)).createDriver();
+        verify(loginDriver).quit();
+        verify(loginService, never()).getAuthenticatedDriver();
+    }
+}
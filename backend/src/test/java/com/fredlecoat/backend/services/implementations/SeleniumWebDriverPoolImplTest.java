@@ -0,0 +1,128 @@
+package com.fredlecoat.backend.services.implementations;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openqa.selenium.WebDriver;
+
+import com.fredlecoat.backend.configuration.WebDriverPoolConfig;
+import com.fredlecoat.backend.services.LoginService;
+import com.fredlecoat.backend.services.SessionService;
+import com.fredlecoat.backend.services.scrapers.BrowserSupervisor;
+
+@ExtendWith(MockitoExtension.class)
+class SeleniumWebDriverPoolImplTest {
+
+    @Mock
+    private LoginService loginService;
+
+    @Mock
+    private SessionService sessionService;
+
+    @Mock
+    private BrowserSupervisor browserSupervisor;
+
+    @Spy
+    private WebDriverPoolConfig poolConfig = new WebDriverPoolConfig(1, 20, 1);
+
+    @InjectMocks
+    private SeleniumWebDriverPoolImpl pool;
+
+    private final WebDriver primary = mock(WebDriver.class);
+
+    @BeforeEach
+    void setUp() {
+        when(loginService.getAuthenticatedDriver()).thenReturn(primary);
+    }
+
+    @Test
+    void tryLeasePrimaryDoesNotWaitForAnotherThread() throws Exception {
+        assertThat(pool.tryLeasePrimary()).isSameAs(primary);
+
+        assertThat(CompletableFuture.supplyAsync(pool::tryLeasePrimary).get()).isNull();
+
+        pool.release();
+        assertThat(CompletableFuture.supplyAsync(() -> {
+            WebDriver driver = pool.tryLeasePrimary();
+            pool.release();
+            return driver;
+        }).get()).isSameAs(primary);
+    }
+
+    @Test
+    void nestedLeasesKeepTheSlotUntilTheLastRelease() throws Exception {
+        pool.leasePrimary();
+        assertThat(pool.tryLeasePrimary()).isSameAs(primary);
+
+        pool.release();
+        assertThat(CompletableFuture.supplyAsync(pool::tryLeasePrimary).get()).isNull();
+
+        pool.release();
+        assertThat(CompletableFuture.supplyAsync(() -> {
+            WebDriver driver = pool.tryLeasePrimary();
+            pool.release();
+            return driver;
+        }).get()).isSameAs(primary);
+    }
+
+    @Test
+    void deferredTaskRunsOnTheHolderBetweenTwoPages() throws Exception {
+        pool.leasePrimary();
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+        Runnable task = () -> {
+            // The task leases the slot it runs on like any other user
+            assertThat(pool.tryLeasePrimary()).isSameAs(primary);
+            pool.release();
+            ranOn.set(Thread.currentThread());
+        };
+
+        CompletableFuture.runAsync(() -> pool.deferToPrimary(task)).get();
+        assertThat(ranOn.get()).isNull();
+
+        assertThat(pool.runPendingPrimaryTasks()).isTrue();
+        assertThat(ranOn.get()).isSameAs(Thread.currentThread());
+        assertThat(pool.runPendingPrimaryTasks()).isFalse();
+
+        // Still leased: the task's own release did not hand the slot back
+        assertThat(CompletableFuture.supplyAsync(pool::tryLeasePrimary).get()).isNull();
+        pool.release();
+    }
+
+    @Test
+    void deferredTaskRunsWhenTheHolderReleases() throws Exception {
+        pool.leasePrimary();
+        AtomicInteger runs = new AtomicInteger();
+        Runnable task = runs::incrementAndGet;
+
+        CompletableFuture.runAsync(() -> {
+            pool.deferToPrimary(task);
+            pool.deferToPrimary(task);
+        }).get();
+        pool.release();
+
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void deferredTaskRunsAtOnceWhenThePrimaryDriverIsFree() {
+        AtomicInteger runs = new AtomicInteger();
+
+        pool.deferToPrimary(runs::incrementAndGet);
+
+        assertThat(runs).hasValue(1);
+        assertThat(pool.tryLeasePrimary()).isSameAs(primary);
+        pool.release();
+    }
+}
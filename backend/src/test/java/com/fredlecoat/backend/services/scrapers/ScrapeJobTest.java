@@ -0,0 +1,27 @@
+package com.fredlecoat.backend.services.scrapers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.fredlecoat.backend.entities.dtos.ScrapeJobStatus;
+import com.fredlecoat.backend.values.ScrapeJobState;
+import com.fredlecoat.backend.values.ScrapeJobType;
+
+class ScrapeJobTest {
+
+    @Test
+    void rateOfAFinishedJobNoLongerDecays() throws InterruptedException {
+        ScrapeJob job = new ScrapeJob(ScrapeJobType.PARKS);
+        job.recordPage(1, false);
+        job.recordPage(2, false);
+        job.finish(ScrapeJobState.COMPLETED, null);
+
+        ScrapeJobStatus finished = job.toStatus();
+        Thread.sleep(50);
+
+        assertThat(finished.pagesPerSecond()).isPositive();
+        assertThat(job.toStatus().pagesPerSecond()).isEqualTo(finished.pagesPerSecond());
+        assertThat(job.toStatus().etaSeconds()).isEqualTo(-1);
+    }
+}
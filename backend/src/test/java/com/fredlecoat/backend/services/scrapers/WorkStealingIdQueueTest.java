@@ -0,0 +1,95 @@
+package com.fredlecoat.backend.services.scrapers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class WorkStealingIdQueueTest {
+
+    @Test
+    void dealsBlocksRoundRobinInAscendingOrder() {
+        WorkStealingIdQueue queue = WorkStealingIdQueue.ofRange(1, 8, 2, 2, 100);
+
+        assertThat(drain(queue, 0, 2)).containsExactly(1, 2);
+        assertThat(drain(queue, 1, 2)).containsExactly(3, 4);
+        assertThat(drain(queue, 0, 2)).containsExactly(5, 6);
+        assertThat(drain(queue, 1, 2)).containsExactly(7, 8);
+    }
+
+    @Test
+    void idleWorkerStealsTheLowestRemainingBlock() {
+        WorkStealingIdQueue queue = WorkStealingIdQueue.ofRange(1, 12, 2, 2, 100);
+
+        // Worker 0 owns blocks 0, 2, 4 (ids 1-2, 5-6, 9-10); worker 1 owns 1, 3, 5
+        assertThat(drain(queue, 1, 6)).containsExactly(3, 4, 7, 8, 11, 12);
+        assertThat(drain(queue, 0, 2)).containsExactly(1, 2);
+
+        // Worker 1 has nothing left of its own: it steals worker 0's next block
+        assertThat(drain(queue, 1, 2)).containsExactly(5, 6);
+        assertThat(drain(queue, 0, 2)).containsExactly(9, 10);
+        assertThat(queue.next(0)).isEqualTo(WorkStealingIdQueue.EMPTY);
+        assertThat(queue.next(1)).isEqualTo(WorkStealingIdQueue.EMPTY);
+    }
+
+    @Test
+    void stopsOnceCompletedPrefixReachesHighestFoundPlusMaxMisses() {
+        WorkStealingIdQueue queue = WorkStealingIdQueue.ofRange(1, 100, 1, 5, 10);
+
+        assertThat(drain(queue, 0, 5)).containsExactly(1, 2, 3, 4, 5);
+        queue.recordFound(3);
+
+        // Ids 6-10 complete the prefix up to 10: 7 misses past 3, still going
+        assertThat(drain(queue, 0, 5)).containsExactly(6, 7, 8, 9, 10);
+        assertThat(queue.isExhausted()).isFalse();
+
+        // Asking for more completes ids 11-15: the prefix is at 15 >= 3 + 10
+        assertThat(drain(queue, 0, 5)).containsExactly(11, 12, 13, 14, 15);
+        assertThat(queue.next(0)).isEqualTo(WorkStealingIdQueue.EMPTY);
+        assertThat(queue.isExhausted()).isTrue();
+    }
+
+    @Test
+    void foundIdsPushTheCutoffFurther() {
+        WorkStealingIdQueue queue = WorkStealingIdQueue.ofRange(1, 30, 1, 5, 10);
+
+        drain(queue, 0, 10);
+        queue.recordFound(9);
+        drain(queue, 0, 5);
+        queue.recordFound(14);
+        drain(queue, 0, 5);
+
+        // Prefix 20 is only 6 past 14
+        assertThat(queue.isExhausted()).isFalse();
+        assertThat(queue.next(0)).isEqualTo(21);
+    }
+
+    @Test
+    void cutoffOnlyCountsTheContiguousCompletedPrefix() {
+        WorkStealingIdQueue queue = WorkStealingIdQueue.ofRange(1, 40, 2, 5, 10);
+
+        // Worker 0 stays on its first block while worker 1 completes blocks far ahead
+        assertThat(queue.next(0)).isEqualTo(1);
+        assertThat(drain(queue, 1, 20)).containsExactly(6, 7, 8, 9, 10, 16, 17, 18, 19, 20, 26, 27, 28, 29, 30, 36, 37, 38, 39, 40);
+        assertThat(queue.isExhausted()).isFalse();
+
+        // Completing block 0 joins it to block 1: the prefix reaches 10, 10 misses past nothing found
+        assertThat(drain(queue, 0, 4)).containsExactly(2, 3, 4, 5);
+        assertThat(queue.next(0)).isEqualTo(WorkStealingIdQueue.EMPTY);
+        assertThat(queue.isExhausted()).isTrue();
+    }
+
+    private static List<Integer> drain(WorkStealingIdQueue queue, int worker, int count) {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int id = queue.next(worker);
+            if (id == WorkStealingIdQueue.EMPTY) {
+                break;
+            }
+            ids.add(id);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,87 @@
+package com.fredlecoat.backend.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class ScrapingParserTest {
+
+    @Test
+    void parsesDigitsSeparatedByAnyKindOfSpace() {
+        assertThat(ScrapingParser.parseLong("6 487 883")).isEqualTo(6487883L);
+        assertThat(ScrapingParser.parseLong("12\u00A0500\u00A0€")).isEqualTo(12500L);
+        assertThat(ScrapingParser.parseLong("6\u202F487\u202F883\u00A0€")).isEqualTo(6487883L);
+        assertThat(ScrapingParser.parseLong("1\u2009200")).isEqualTo(1200L);
+        assertThat(ScrapingParser.parseLong("  42\t")).isEqualTo(42L);
+    }
+
+    @Test
+    void acceptsEachUnitSuffix() {
+        assertThat(ScrapingParser.parseMoney("6 487 883 €")).isEqualTo(6487883L);
+        assertThat(ScrapingParser.parseSurface("30 000 m²")).isEqualTo(30000);
+        assertThat(ScrapingParser.parseSurface("30\u00A0000 m ²")).isEqualTo(30000);
+        assertThat(ScrapingParser.parseInteger("45 m")).isEqualTo(45);
+        assertThat(ScrapingParser.parseInteger("800²")).isEqualTo(800);
+        assertThat(ScrapingParser.parseCapacity("1 200 / h")).isEqualTo(1200);
+        assertThat(ScrapingParser.parseCapacity("1 200/h")).isEqualTo(1200);
+    }
+
+    @Test
+    void acceptsALeadingEuroSign() {
+        assertThat(ScrapingParser.parseMoney("€ 12")).isEqualTo(12L);
+        assertThat(ScrapingParser.parseMoney("€12 500")).isEqualTo(12500L);
+        assertThat(ScrapingParser.parseMoney("-€ 12")).isEqualTo(-12L);
+        assertThat(ScrapingParser.parseMoney("€ -12")).isEqualTo(-12L);
+    }
+
+    @Test
+    void rejectsUnknownSuffixesAndText() {
+        assertThat(ScrapingParser.parseLong("12a")).isEqualTo(ScrapingParser.INVALID);
+        assertThat(ScrapingParser.parseLong("12 € 50")).isEqualTo(ScrapingParser.INVALID);
+        assertThat(ScrapingParser.parseLong("1 200 / s")).isEqualTo(ScrapingParser.INVALID);
+        assertThat(ScrapingParser.parseLong("N/A")).isEqualTo(ScrapingParser.INVALID);
+        assertThat(ScrapingParser.parseLong("€")).isEqualTo(ScrapingParser.INVALID);
+        assertThat(ScrapingParser.parseLong("-")).isEqualTo(ScrapingParser.INVALID);
+        assertThat(ScrapingParser.parseLong("")).isEqualTo(ScrapingParser.INVALID);
+        assertThat(ScrapingParser.parseLong(null)).isEqualTo(ScrapingParser.INVALID);
+        assertThat(ScrapingParser.parseMoney("N/A")).isNull();
+    }
+
+    @Test
+    void readsTheSign() {
+        assertThat(ScrapingParser.parseLong("-12 500 €")).isEqualTo(-12500L);
+        assertThat(ScrapingParser.parseLong("- 12 500 €")).isEqualTo(-12500L);
+        assertThat(ScrapingParser.parseLong("+7 m")).isEqualTo(7L);
+        assertThat(ScrapingParser.parseLong("-0")).isEqualTo(0L);
+    }
+
+    @Test
+    void returnsInvalidOnOverflow() {
+        assertThat(ScrapingParser.parseLong("9223372036854775807")).isEqualTo(Long.MAX_VALUE);
+        assertThat(ScrapingParser.parseLong("-9223372036854775807")).isEqualTo(-Long.MAX_VALUE);
+        assertThat(ScrapingParser.parseLong("9223372036854775808")).isEqualTo(ScrapingParser.INVALID);
+        assertThat(ScrapingParser.parseLong("99 999 999 999 999 999 999 €")).isEqualTo(ScrapingParser.INVALID);
+        // Long.MIN_VALUE is the INVALID marker itself
+        assertThat(ScrapingParser.parseLong("-9223372036854775808")).isEqualTo(ScrapingParser.INVALID);
+        assertThat(ScrapingParser.parseMoney("9223372036854775808")).isNull();
+    }
+
+    @Test
+    void fallsBackOutsideTheIntRange() {
+        assertThat(ScrapingParser.parseMoney("12 345 678 901 €")).isEqualTo(12345678901L);
+        assertThat(ScrapingParser.parseInteger("12 345 678 901")).isNull();
+        assertThat(ScrapingParser.parseInteger("2 147 483 647")).isEqualTo(Integer.MAX_VALUE);
+        assertThat(ScrapingParser.parseInteger("-2 147 483 648")).isEqualTo(Integer.MIN_VALUE);
+        assertThat(ScrapingParser.parseInteger("2 147 483 648")).isNull();
+        assertThat(ScrapingParser.parseIntegerOrDefault("2 147 483 648", -1)).isEqualTo(-1);
+        assertThat(ScrapingParser.parseIntegerOrDefault("2 956", -1)).isEqualTo(2956);
+        assertThat(ScrapingParser.parseLongOrDefault("N/A", 0L)).isZero();
+    }
+
+    @Test
+    void takesBoxedIntegersAsTheyAre() {
+        assertThat(ScrapingParser.parseLong(12L)).isEqualTo(12L);
+        assertThat(ScrapingParser.parseLong(-3)).isEqualTo(-3L);
+        assertThat(ScrapingParser.parseInteger(12345678901L)).isNull();
+    }
+}